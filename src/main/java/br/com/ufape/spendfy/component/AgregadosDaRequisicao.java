@@ -0,0 +1,48 @@
+package br.com.ufape.spendfy.component;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Memoriza agregados lidos durante uma requisição HTTP para que serviços diferentes
+// não repitam a mesma consulta. Fora de uma requisição (schedulers, runners) não guarda nada.
+@Component
+public class AgregadosDaRequisicao {
+
+    private static final String ATRIBUTO = AgregadosDaRequisicao.class.getName();
+
+    @SuppressWarnings("unchecked")
+    public <T> T obter(Object chave, Supplier<T> carregar) {
+        Map<Object, Object> valores = valoresDaRequisicao();
+        if (valores == null) return carregar.get();
+
+        Object valor = valores.get(chave);
+        if (valor == null) {
+            valor = carregar.get();
+            valores.put(chave, valor);
+        }
+        return (T) valor;
+    }
+
+    public void invalidar() {
+        Map<Object, Object> valores = valoresDaRequisicao();
+        if (valores != null) valores.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> valoresDaRequisicao() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) return null;
+
+        Map<Object, Object> valores = (Map<Object, Object>) atributos.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+        if (valores == null) {
+            valores = new HashMap<>();
+            atributos.setAttribute(ATRIBUTO, valores, RequestAttributes.SCOPE_REQUEST);
+        }
+        return valores;
+    }
+}
@@ -4,6 +4,7 @@ import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
@@ -12,10 +13,21 @@ import org.springframework.stereotype.Component;
 public class AuthenticatedUserResolver {
 
     private final UsuarioRepository usuarioRepository;
+    private final AgregadosDaRequisicao agregadosDaRequisicao;
 
+    // Com o principal do token devolve apenas uma referência por id, sem consultar o banco
     public Usuario getUsuarioAutenticado() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof UsuarioPrincipal principal) {
+            return usuarioRepository.getReferenceById(principal.id());
+        }
+
+        String email = authentication.getName();
+        return agregadosDaRequisicao.obter(new ChaveUsuario(email),
+                () -> usuarioRepository.findByEmail(email)
+                        .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado")));
+    }
+
+    private record ChaveUsuario(String email) {
     }
 }
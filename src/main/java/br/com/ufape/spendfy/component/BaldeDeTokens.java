@@ -0,0 +1,46 @@
+package br.com.ufape.spendfy.component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Token bucket sem locks: o estado (tokens, instante da última atualização) é trocado por CAS
+public final class BaldeDeTokens {
+
+    private final long capacidade;
+    private final double tokensPorNano;
+    private final AtomicReference<Estado> estado;
+
+    public BaldeDeTokens(long capacidade, long tokensPorMinuto, long agoraNanos) {
+        this.capacidade = capacidade;
+        this.tokensPorNano = (double) tokensPorMinuto / TimeUnit.MINUTES.toNanos(1);
+        this.estado = new AtomicReference<>(new Estado(capacidade, agoraNanos));
+    }
+
+    public Consumo consumir(long agoraNanos) {
+        while (true) {
+            Estado atual = estado.get();
+            long instante = Math.max(agoraNanos, atual.atualizadoEm());
+            double tokens = Math.min(capacidade, atual.tokens() + (instante - atual.atualizadoEm()) * tokensPorNano);
+            boolean permitido = tokens >= 1;
+            Estado novo = new Estado(permitido ? tokens - 1 : tokens, instante);
+            if (estado.compareAndSet(atual, novo)) {
+                return new Consumo(permitido, capacidade, (long) novo.tokens(),
+                        segundosAte(1 - novo.tokens()), segundosAte(capacidade - novo.tokens()));
+            }
+        }
+    }
+
+    private long segundosAte(double tokensFaltando) {
+        if (tokensFaltando <= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(tokensFaltando / tokensPorNano / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record Estado(double tokens, long atualizadoEm) {
+    }
+
+    // retryAfterSegundos: até haver um token disponível; resetSegundos: até o balde encher de novo
+    public record Consumo(boolean permitido, long limite, long restantes, long retryAfterSegundos, long resetSegundos) {
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt executado num pool próprio do tamanho da CPU e com fila limitada, para que picos de
+// login não consumam as threads do Tomcat; com a fila cheia a requisição falha rápido com 503
+public class CodificadorSenha implements PasswordEncoder, AutoCloseable {
+
+    private static final Pattern CUSTO_BCRYPT = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int custo;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSegundos;
+
+    public CodificadorSenha(int custo, int threads, int fila, long retryAfterSegundos, MeterRegistry meterRegistry) {
+        this(custo, novoExecutor(threads, fila), retryAfterSegundos);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "senha");
+    }
+
+    CodificadorSenha(int custo, ThreadPoolExecutor executor, long retryAfterSegundos) {
+        this.bcrypt = new BCryptPasswordEncoder(custo);
+        this.custo = custo;
+        this.executor = executor;
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    // Refaz o hash no login sempre que o custo armazenado difere do configurado, para cima ou para baixo
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = CUSTO_BCRYPT.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != custo;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> future;
+        try {
+            future = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new ServicoSobrecarregadoException(
+                    "Serviço de autenticação sobrecarregado, tente novamente em instantes", retryAfterSegundos);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ThreadPoolExecutor novoExecutor(int threads, int fila) {
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "senha-hash-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Total de transações por usuário e combinação de filtros, para que a listagem paginada
+// não refaça o count(*) a cada página; qualquer escrita do usuário descarta todos os seus totais
+@Component
+public class ContagemTransacoesCache {
+
+    // Limita as combinações guardadas por usuário, já que os filtros de data variam livremente
+    private static final int MAXIMO_FILTROS_POR_USUARIO = 64;
+
+    private final Cache<Long, Map<FiltroTransacao, Long>> cache;
+
+    public ContagemTransacoesCache(@Value("${transacoes.contagem-cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                                   @Value("${transacoes.contagem-cache.ttl:10m}") Duration ttl,
+                                   MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats();
+        if (!ttl.isZero()) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "transacoes-contagem");
+    }
+
+    public long obter(Long idUsuario, FiltroTransacao filtro, LongSupplier contar) {
+        Map<FiltroTransacao, Long> totais = cache.get(idUsuario, id -> new ConcurrentHashMap<>());
+        Long total = totais.get(filtro);
+        if (total != null) {
+            return total;
+        }
+        if (totais.size() >= MAXIMO_FILTROS_POR_USUARIO) {
+            totais.clear();
+        }
+        total = contar.getAsLong();
+        totais.put(filtro, total);
+        return total;
+    }
+
+    public void invalidar(Long idUsuario) {
+        cache.invalidate(idUsuario);
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void aoAlterarDadosFinanceiros(DadosFinanceirosAlteradosEvent evento) {
+        invalidar(evento.idUsuario());
+
+        // Invalida de novo ao fim da transação para descartar contagens concorrentes feitas antes do commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar(evento.idUsuario());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.dto.dashboard.DashboardResponse;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+@Component
+public class DashboardCache {
+
+    private final Cache<Chave, DashboardResponse> cache;
+
+    public DashboardCache(@Value("${dashboard.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                          @Value("${dashboard.cache.ttl:10m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats();
+        if (!ttl.isZero()) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    // O dashboard depende do dia corrente, então a data faz parte da chave;
+    // entradas de dias anteriores nunca mais são lidas e saem por tamanho ou TTL
+    public DashboardResponse obter(Long idUsuario, LocalDate hoje, Supplier<DashboardResponse> calcular) {
+        return cache.get(new Chave(idUsuario, hoje), chave -> calcular.get());
+    }
+
+    public void invalidar(Long idUsuario) {
+        cache.invalidate(new Chave(idUsuario, LocalDate.now()));
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void aoAlterarDadosFinanceiros(DadosFinanceirosAlteradosEvent evento) {
+        invalidar(evento.idUsuario());
+
+        // Invalida de novo ao fim da transação para descartar leituras concorrentes feitas antes do commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar(evento.idUsuario());
+                }
+            });
+        }
+    }
+
+    private record Chave(Long idUsuario, LocalDate data) {
+    }
+}
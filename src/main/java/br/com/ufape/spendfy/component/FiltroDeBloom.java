@@ -0,0 +1,66 @@
+package br.com.ufape.spendfy.component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom thread-safe para strings: responde "com certeza ausente" ou "talvez presente"
+final class FiltroDeBloom {
+
+    private final AtomicLongArray palavras;
+    private final int totalBits;
+    private final int funcoesHash;
+
+    FiltroDeBloom(int capacidade, double taxaFalsoPositivo) {
+        int n = Math.max(1, capacidade);
+        long bits = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.totalBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / n * Math.log(2)));
+        this.palavras = new AtomicLongArray((totalBits + 63) / 64);
+    }
+
+    void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoesHash; i++) {
+            int bit = Math.floorMod(h1 + i * h2, totalBits);
+            long mascara = 1L << (bit & 63);
+            int indice = bit >>> 6;
+            long atual;
+            do {
+                atual = palavras.get(indice);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!palavras.compareAndSet(indice, atual, atual | mascara));
+        }
+    }
+
+    boolean podeConter(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoesHash; i++) {
+            int bit = Math.floorMod(h1 + i * h2, totalBits);
+            if ((palavras.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a de 64 bits seguido do finalizador do MurmurHash3 para espalhar os bits
+    private static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Índice invertido de trigramas por usuário, usado quando o banco não tem pg_trgm (H2).
+// Segue a mesma ideia do word_similarity do PostgreSQL: a relevância é a fração dos trigramas
+// da busca presentes no texto, o que cobre prefixos e pequenos erros de digitação
+@Component
+public class IndiceBuscaTransacoes {
+
+    // Mesmo valor padrão de pg_trgm.word_similarity_threshold
+    public static final double SIMILARIDADE_MINIMA = 0.6;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Cache<Long, Indice> cache;
+
+    // O limite é pelo total de documentos indexados, não por usuário: o índice de um usuário cresce
+    // com o histórico dele (documentos e listas de trigramas), então contar usuários não limita a memória
+    public IndiceBuscaTransacoes(@Value("${busca.indice.documentos-maximo:500000}") long documentosMaximo,
+                                 @Value("${busca.indice.ttl:30m}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        Caffeine<Long, Indice> builder = Caffeine.newBuilder()
+                .maximumWeight(documentosMaximo)
+                .weigher((Long idUsuario, Indice indice) -> Math.max(1, indice.documentos.length))
+                .recordStats();
+        if (!ttl.isZero()) {
+            builder.expireAfterAccess(ttl);
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "busca-transacoes");
+    }
+
+    // Devolve os ids mais relevantes que passam pelo filtro; o índice do usuário é montado na primeira busca
+    public List<Long> buscar(Long idUsuario, String consulta, FiltroTransacao filtro, int limite,
+                             Supplier<List<Documento>> carregar) {
+        Indice indice = cache.get(idUsuario, id -> new Indice(carregar.get()));
+        return indice.buscar(trigramas(consulta), filtro, limite);
+    }
+
+    public void invalidar(Long idUsuario) {
+        cache.invalidate(idUsuario);
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    long documentosEmCache() {
+        cache.cleanUp();
+        return cache.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    @EventListener
+    public void aoAlterarDadosFinanceiros(DadosFinanceirosAlteradosEvent evento) {
+        invalidar(evento.idUsuario());
+
+        // Invalida de novo ao fim da transação para descartar índices montados antes do commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar(evento.idUsuario());
+                }
+            });
+        }
+    }
+
+    // Trigramas no formato do pg_trgm: cada palavra ganha dois espaços antes e um depois;
+    // além disso, caixa e acentos são ignorados
+    static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        if (texto == null) {
+            return trigramas;
+        }
+        String normalizado = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase();
+        for (String palavra : SEPARADORES.split(normalizado)) {
+            if (palavra.isEmpty()) {
+                continue;
+            }
+            String comBordas = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= comBordas.length(); i++) {
+                trigramas.add(comBordas.substring(i, i + 3));
+            }
+        }
+        return trigramas;
+    }
+
+    public record Documento(Long id, String texto, TipoTransacao tipo, StatusTransacao status,
+                            Long idCategoria, Long idConta, LocalDate data) {
+    }
+
+    private static final class Indice {
+
+        private static final Comparator<Documento> MAIS_RECENTE = Comparator
+                .comparing(Documento::data).thenComparing(Documento::id).reversed();
+
+        private final Documento[] documentos;
+        private final Map<String, int[]> ocorrencias;
+
+        Indice(List<Documento> documentos) {
+            this.documentos = documentos.toArray(Documento[]::new);
+
+            Map<String, List<Integer>> porTrigrama = new HashMap<>();
+            for (int i = 0; i < this.documentos.length; i++) {
+                for (String trigrama : trigramas(this.documentos[i].texto())) {
+                    porTrigrama.computeIfAbsent(trigrama, t -> new ArrayList<>()).add(i);
+                }
+            }
+            this.ocorrencias = new HashMap<>(porTrigrama.size() * 2);
+            porTrigrama.forEach((trigrama, posicoes) ->
+                    ocorrencias.put(trigrama, posicoes.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        List<Long> buscar(Set<String> consulta, FiltroTransacao filtro, int limite) {
+            if (consulta.isEmpty()) {
+                return List.of();
+            }
+
+            int[] encontrados = new int[documentos.length];
+            for (String trigrama : consulta) {
+                int[] posicoes = ocorrencias.get(trigrama);
+                if (posicoes != null) {
+                    for (int posicao : posicoes) {
+                        encontrados[posicao]++;
+                    }
+                }
+            }
+
+            // Mais trigramas em comum primeiro; empates pelas transações mais recentes.
+            // Um heap do tamanho do limite evita ordenar todos os candidatos de termos comuns
+            Comparator<Integer> melhorPrimeiro = Comparator.<Integer>comparingInt(i -> -encontrados[i])
+                    .thenComparing(i -> documentos[i], MAIS_RECENTE);
+            PriorityQueue<Integer> melhores = new PriorityQueue<>(limite + 1, melhorPrimeiro.reversed());
+
+            int minimo = (int) Math.ceil(consulta.size() * SIMILARIDADE_MINIMA);
+            for (int i = 0; i < encontrados.length; i++) {
+                Documento documento = documentos[i];
+                if (encontrados[i] >= minimo && filtro.aceita(documento.tipo(), documento.status(),
+                        documento.idCategoria(), documento.idConta(), documento.data())) {
+                    melhores.add(i);
+                    if (melhores.size() > limite) {
+                        melhores.poll();
+                    }
+                }
+            }
+
+            List<Integer> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(melhorPrimeiro);
+            List<Long> ids = new ArrayList<>(ordenados.size());
+            for (int posicao : ordenados) {
+                ids.add(documentos[posicao].id());
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.dto.transacao.ImportacaoExtratoRequest;
+import br.com.ufape.spendfy.entity.enums.FormatoExtrato;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.exception.LinhaExtratoInvalidaException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+// Leitura de extrato em fluxo: um lançamento por vez, com buffer de tamanho fixo, então a memória
+// não depende do tamanho do arquivo. Linhas inválidas saem como LinhaExtratoInvalidaException
+// e a leitura pode continuar na seguinte
+public abstract class LeitorExtrato implements Closeable {
+
+    static final int TAMANHO_MAXIMO_DESCRICAO = 100;
+
+    // Limite de um campo ou texto de tag; acima disso o restante é descartado e o registro, recusado
+    static final int TAMANHO_MAXIMO_CAMPO = 4096;
+
+    // Limite da coluna valor (precisão 15, escala 2)
+    private static final BigDecimal VALOR_MAXIMO = BigDecimal.TEN.pow(13);
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int posicao;
+    private int limite;
+    private boolean iniciado;
+
+    // Linha física do próximo caractere a ser lido
+    protected long linha = 1;
+
+    protected LeitorExtrato(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static LeitorExtrato abrir(Reader reader, FormatoExtrato formato, ImportacaoExtratoRequest opcoes)
+            throws IOException {
+        return formato == FormatoExtrato.OFX ? new LeitorExtratoOfx(reader) : new LeitorExtratoCsv(reader, opcoes);
+    }
+
+    // Próximo lançamento, ou null no fim do arquivo
+    public abstract Lancamento proximo() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    protected int ler() throws IOException {
+        if (posicao == limite) {
+            limite = reader.read(buffer, 0, buffer.length);
+            posicao = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return -1;
+            }
+        }
+        char c = buffer[posicao++];
+        // Marca de ordem de bytes no início do arquivo (comum em CSV exportado por planilhas)
+        if (!iniciado) {
+            iniciado = true;
+            if (c == '\uFEFF') {
+                return ler();
+            }
+        }
+        if (c == '\n') {
+            linha++;
+        }
+        return c;
+    }
+
+    // Acrescenta o caractere enquanto houver espaço; devolve false quando o campo já está no limite
+    protected static boolean acrescentar(StringBuilder destino, int c) {
+        if (destino.length() >= TAMANHO_MAXIMO_CAMPO) {
+            return false;
+        }
+        destino.append((char) c);
+        return true;
+    }
+
+    protected static LinhaExtratoInvalidaException campoExcedido(long linha) {
+        return new LinhaExtratoInvalidaException(linha,
+                "Campo excede o tamanho máximo de " + TAMANHO_MAXIMO_CAMPO + " caracteres");
+    }
+
+    // Caixa baixa, sem acentos e sem espaços nas pontas, para comparar nomes de colunas e categorias
+    public static String normalizar(String texto) {
+        return MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto.trim(), Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase();
+    }
+
+    // Aceita "R$", espaços e separador de milhar; o sinal é preservado
+    protected static BigDecimal valor(String texto, char separadorDecimal, long linha) {
+        String limpo = texto.replace("R$", "").replace(" ", "").replace("\u00A0", "");
+        limpo = separadorDecimal == ','
+                ? limpo.replace(".", "").replace(',', '.')
+                : limpo.replace(",", "");
+        if (limpo.isEmpty()) {
+            throw new LinhaExtratoInvalidaException(linha, "Valor ausente");
+        }
+        try {
+            return new BigDecimal(limpo).setScale(2, RoundingMode.HALF_EVEN);
+        } catch (NumberFormatException e) {
+            throw new LinhaExtratoInvalidaException(linha, "Valor inválido: " + texto.trim());
+        }
+    }
+
+    protected static String descricao(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+        String descricao = texto.trim();
+        return descricao.length() > TAMANHO_MAXIMO_DESCRICAO
+                ? descricao.substring(0, TAMANHO_MAXIMO_DESCRICAO)
+                : descricao;
+    }
+
+    // Valor sempre positivo; o sentido fica no tipo
+    protected static Lancamento lancamento(long linha, LocalDate data, BigDecimal valor, TipoTransacao tipo,
+                                           String descricao, String categoria) {
+        if (valor.signum() == 0) {
+            throw new LinhaExtratoInvalidaException(linha, "Valor deve ser maior que zero");
+        }
+        if (valor.abs().compareTo(VALOR_MAXIMO) >= 0) {
+            throw new LinhaExtratoInvalidaException(linha, "Valor fora do limite permitido");
+        }
+        if (tipo == null) {
+            tipo = valor.signum() < 0 ? TipoTransacao.DESPESA : TipoTransacao.RECEITA;
+        }
+        return new Lancamento(linha, data, valor.abs(), tipo, descricao(descricao), categoria);
+    }
+
+    public record Lancamento(long linha, LocalDate data, BigDecimal valor, TipoTransacao tipo,
+                             String descricao, String categoria) {
+    }
+}
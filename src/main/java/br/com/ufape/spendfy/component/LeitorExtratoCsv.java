@@ -0,0 +1,179 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.dto.transacao.ImportacaoExtratoRequest;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.exception.BusinessException;
+import br.com.ufape.spendfy.exception.LinhaExtratoInvalidaException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// CSV no formato da RFC 4180 (campos entre aspas podem conter separador, aspas dobradas e quebras de linha).
+// As colunas são resolvidas uma vez no cabeçalho; cada registro reaproveita a mesma lista de campos
+public final class LeitorExtratoCsv extends LeitorExtrato {
+
+    private static final Map<String, TipoTransacao> TIPOS = Map.of(
+            "d", TipoTransacao.DESPESA, "debito", TipoTransacao.DESPESA, "despesa", TipoTransacao.DESPESA,
+            "saida", TipoTransacao.DESPESA, "debit", TipoTransacao.DESPESA,
+            "c", TipoTransacao.RECEITA, "credito", TipoTransacao.RECEITA, "receita", TipoTransacao.RECEITA,
+            "entrada", TipoTransacao.RECEITA, "credit", TipoTransacao.RECEITA);
+
+    private final char separador;
+    private final char separadorDecimal;
+    private final DateTimeFormatter formatoData;
+    private final int colunaData;
+    private final int colunaValor;
+    private final int colunaDescricao;
+    private final int colunaTipo;
+    private final int colunaCategoria;
+    private final int colunasNecessarias;
+
+    private final List<String> campos = new ArrayList<>();
+    private final StringBuilder campo = new StringBuilder();
+    private long inicioRegistro;
+
+    public LeitorExtratoCsv(Reader reader, ImportacaoExtratoRequest opcoes) throws IOException {
+        super(reader);
+        this.separador = Objects.requireNonNullElse(opcoes.getSeparador(), ';');
+        this.separadorDecimal = Objects.requireNonNullElse(opcoes.getSeparadorDecimal(), ',');
+        try {
+            this.formatoData = DateTimeFormatter.ofPattern(Objects.requireNonNullElse(opcoes.getFormatoData(), "dd/MM/yyyy"));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Formato de data inválido: " + opcoes.getFormatoData());
+        }
+
+        Map<String, Integer> cabecalho = new HashMap<>();
+        if (!Boolean.FALSE.equals(opcoes.getCabecalho())) {
+            try {
+                if (!lerRegistro()) {
+                    throw new BusinessException("Arquivo vazio");
+                }
+            } catch (LinhaExtratoInvalidaException e) {
+                throw new BusinessException("Cabeçalho inválido: " + e.getMessage());
+            }
+            for (int i = 0; i < campos.size(); i++) {
+                cabecalho.putIfAbsent(normalizar(campos.get(i)), i);
+            }
+        }
+
+        this.colunaData = coluna(opcoes.getColunaData(), cabecalho);
+        this.colunaValor = coluna(opcoes.getColunaValor(), cabecalho);
+        if (colunaData < 0 || colunaValor < 0) {
+            throw new BusinessException("As colunas de data e valor são obrigatórias");
+        }
+        this.colunaDescricao = coluna(opcoes.getColunaDescricao(), cabecalho);
+        this.colunaTipo = coluna(opcoes.getColunaTipo(), cabecalho);
+        this.colunaCategoria = coluna(opcoes.getColunaCategoria(), cabecalho);
+        this.colunasNecessarias = 1 + Math.max(Math.max(colunaData, colunaValor),
+                Math.max(colunaDescricao, Math.max(colunaTipo, colunaCategoria)));
+    }
+
+    @Override
+    public Lancamento proximo() throws IOException {
+        while (lerRegistro()) {
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            long linhaRegistro = inicioRegistro;
+            if (campos.size() < colunasNecessarias) {
+                throw new LinhaExtratoInvalidaException(linhaRegistro, "Linha com " + campos.size() +
+                        " coluna(s); esperado ao menos " + colunasNecessarias);
+            }
+
+            String textoData = campos.get(colunaData).trim();
+            LocalDate data;
+            try {
+                data = LocalDate.parse(textoData, formatoData);
+            } catch (DateTimeParseException e) {
+                throw new LinhaExtratoInvalidaException(linhaRegistro, "Data inválida: " + textoData);
+            }
+
+            TipoTransacao tipo = null;
+            if (colunaTipo >= 0) {
+                String textoTipo = campos.get(colunaTipo);
+                tipo = TIPOS.get(normalizar(textoTipo));
+                if (tipo == null) {
+                    throw new LinhaExtratoInvalidaException(linhaRegistro, "Tipo inválido: " + textoTipo.trim());
+                }
+            }
+
+            return lancamento(linhaRegistro, data, valor(campos.get(colunaValor), separadorDecimal, linhaRegistro), tipo,
+                    colunaDescricao >= 0 ? campos.get(colunaDescricao) : null,
+                    colunaCategoria >= 0 ? campos.get(colunaCategoria) : null);
+        }
+        return null;
+    }
+
+    // Posição da coluna pelo número (a partir de 1) ou pelo nome no cabeçalho; -1 quando não configurada
+    private static int coluna(String especificacao, Map<String, Integer> cabecalho) {
+        if (especificacao == null || especificacao.isBlank()) {
+            return -1;
+        }
+        String nome = especificacao.trim();
+        if (nome.chars().allMatch(Character::isDigit)) {
+            int posicao = nome.length() <= 4 ? Integer.parseInt(nome) : 0;
+            if (posicao < 1) {
+                throw new BusinessException("Posição de coluna inválida: " + nome);
+            }
+            return posicao - 1;
+        }
+        Integer posicao = cabecalho.get(normalizar(nome));
+        if (posicao == null) {
+            throw new BusinessException("Coluna '" + nome + "' não encontrada no cabeçalho do arquivo");
+        }
+        return posicao;
+    }
+
+    // Lê o próximo registro em campos; devolve false no fim do arquivo. Um campo acima do limite
+    // não cresce mais: o registro é lido até o fim e só então recusado, para a leitura seguir na próxima linha
+    private boolean lerRegistro() throws IOException {
+        campos.clear();
+        campo.setLength(0);
+        inicioRegistro = linha;
+
+        int c = ler();
+        if (c == -1) {
+            return false;
+        }
+        boolean entreAspas = false;
+        boolean excedido = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == -1) {
+                    throw new LinhaExtratoInvalidaException(inicioRegistro, "Aspas não fechadas");
+                }
+                if (c == '"') {
+                    c = ler();
+                    if (c != '"') {
+                        entreAspas = false;
+                        continue;
+                    }
+                }
+                excedido |= !acrescentar(campo, c);
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c != '\r') {
+                excedido |= !acrescentar(campo, c);
+            }
+            c = ler();
+        }
+        if (excedido) {
+            throw campoExcedido(inicioRegistro);
+        }
+        campos.add(campo.toString());
+        return true;
+    }
+}
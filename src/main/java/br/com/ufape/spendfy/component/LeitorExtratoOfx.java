@@ -0,0 +1,117 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.exception.LinhaExtratoInvalidaException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+// OFX 1.x (SGML, com tags de valor sem fechamento) e 2.x (XML). O cabeçalho e os demais blocos são
+// ignorados: cada STMTTRN vira um lançamento com DTPOSTED, TRNAMT e MEMO (ou NAME, na falta dele).
+// O sinal de TRNAMT define o tipo; a linha informada nos erros é a da abertura do STMTTRN
+public final class LeitorExtratoOfx extends LeitorExtrato {
+
+    private final StringBuilder nomeTag = new StringBuilder();
+    private final StringBuilder texto = new StringBuilder();
+    private String tag;
+    private long linhaTag;
+    private boolean dentroDeTag;
+
+    public LeitorExtratoOfx(Reader reader) {
+        super(reader);
+    }
+
+    @Override
+    public Lancamento proximo() throws IOException {
+        long inicio = -1;
+        String data = null;
+        String valor = null;
+        String memo = null;
+        String nome = null;
+
+        while (lerTag()) {
+            switch (tag) {
+                case "STMTTRN" -> {
+                    inicio = linhaTag;
+                    data = valor = memo = nome = null;
+                }
+                case "DTPOSTED" -> data = valorTag();
+                case "TRNAMT" -> valor = valorTag();
+                case "MEMO" -> memo = valorTag();
+                case "NAME" -> nome = valorTag();
+                case "/STMTTRN" -> {
+                    if (inicio >= 0) {
+                        return montar(inicio, data, valor, memo != null && !memo.isBlank() ? memo : nome);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Lancamento montar(long linha, String data, String valor, String descricao) {
+        if (data == null || data.length() < 8) {
+            throw new LinhaExtratoInvalidaException(linha, "Data inválida: " + (data == null ? "" : data));
+        }
+        LocalDate dataLancamento;
+        try {
+            // yyyyMMdd seguido de hora e fuso opcionais
+            dataLancamento = LocalDate.parse(data.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw new LinhaExtratoInvalidaException(linha, "Data inválida: " + data);
+        }
+        if (valor == null || valor.isBlank()) {
+            throw new LinhaExtratoInvalidaException(linha, "Valor ausente");
+        }
+        // Alguns bancos usam vírgula decimal no TRNAMT; o OFX não tem separador de milhar
+        return lancamento(linha, dataLancamento, valor(valor.replace(',', '.'), '.', linha), null, descricao, null);
+    }
+
+    // Avança até a próxima tag e guarda o nome (em maiúsculas) e o texto que vem depois dela.
+    // Nome ou texto acima do limite é consumido até o fim sem crescer e a tag é recusada
+    private boolean lerTag() throws IOException {
+        int c;
+        if (!dentroDeTag) {
+            do {
+                c = ler();
+            } while (c != -1 && c != '<');
+            if (c == -1) {
+                return false;
+            }
+        }
+        linhaTag = linha;
+
+        boolean excedido = false;
+        nomeTag.setLength(0);
+        while ((c = ler()) != -1 && c != '>') {
+            excedido |= !acrescentar(nomeTag, c);
+        }
+        if (c == -1) {
+            return false;
+        }
+        tag = nomeTag.toString().trim().toUpperCase();
+
+        texto.setLength(0);
+        while ((c = ler()) != -1 && c != '<') {
+            excedido |= !acrescentar(texto, c);
+        }
+        dentroDeTag = c == '<';
+        if (excedido) {
+            throw campoExcedido(linhaTag);
+        }
+        return true;
+    }
+
+    private String valorTag() {
+        String valor = texto.toString().trim();
+        if (valor.indexOf('&') < 0) {
+            return valor;
+        }
+        return valor.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
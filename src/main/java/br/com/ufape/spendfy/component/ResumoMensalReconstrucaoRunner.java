@@ -0,0 +1,37 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.service.ResumoMensalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResumoMensalReconstrucaoRunner implements ApplicationRunner {
+
+    private static final String OPCAO = "reconstruir-resumos";
+
+    private final ResumoMensalService resumoMensalService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPCAO)) return;
+
+        List<String> idsUsuarios = args.getOptionValues(OPCAO);
+        if (idsUsuarios.isEmpty()) {
+            resumoMensalService.reconstruirTodos();
+            log.info("Resumos mensais reconstruídos para todos os usuários");
+            return;
+        }
+
+        for (String idUsuario : idsUsuarios) {
+            int resumos = resumoMensalService.reconstruir(Long.valueOf(idUsuario));
+            log.info("Resumos mensais do usuário {} reconstruídos: {} registro(s)", idUsuario, resumos);
+        }
+    }
+}
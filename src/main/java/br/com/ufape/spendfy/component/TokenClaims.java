@@ -0,0 +1,19 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+
+import java.time.Instant;
+
+// Claims de um token já verificado; id (jti), idUsuario, status e versao ficam nulos em tokens emitidos
+// antes desses claims existirem
+public record TokenClaims(String id, String subject, Long idUsuario, StatusUsuario status,
+                          Integer versao, Instant expiracao) {
+
+    public boolean possuiUsuario() {
+        return idUsuario != null;
+    }
+
+    public UsuarioPrincipal toPrincipal() {
+        return new UsuarioPrincipal(idUsuario, subject, status);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.ufape.spendfy.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+@Component
+public class TokenVerificadoCache {
+
+    // Nulo quando o cache está desligado
+    private final Cache<String, TokenClaims> cache;
+
+    public TokenVerificadoCache(@Value("${jwt.cache.habilitado:true}") boolean habilitado,
+                                @Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                                MeterRegistry meterRegistry) {
+        if (!habilitado) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraComToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tokens");
+    }
+
+    // Tokens inválidos lançam exceção em verificar e não entram no cache
+    public TokenClaims obter(String token, Function<String, TokenClaims> verificar) {
+        if (cache == null) {
+            return verificar.apply(token);
+        }
+        return cache.get(digest(token), chave -> verificar.apply(token));
+    }
+
+    public void invalidarTodos() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public CacheStats estatisticas() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    // A chave é o hash do token, para não manter bearer tokens em memória
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    // Cada entrada vive até a expiração do próprio token
+    private static class ExpiraComToken implements Expiry<String, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenClaims claims, long agora) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenClaims claims, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenClaims claims, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.entity.TokenRevogado;
+import br.com.ufape.spendfy.repository.TokenRevogadoRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Revogações de access tokens consultadas pelo filtro JWT sem nenhum I/O: o filtro de Bloom
+// responde o caso comum (token não revogado) e o conjunto exato elimina os falsos positivos.
+// O banco só é usado para gravar revogações e recarregá-las na inicialização; a memória só recebe a
+// revogação depois do commit, para um rollback não deixar esta instância recusando tokens válidos.
+@Component
+public class TokensRevogados {
+
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+    private static final Duration INTERVALO_LIMPEZA = Duration.ofMinutes(10);
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final int capacidade;
+    private final Duration validadeAccessToken;
+
+    private final Map<String, Instant> jtis = new ConcurrentHashMap<>();
+    private final Map<Long, Corte> cortes = new ConcurrentHashMap<>();
+    private final AtomicReference<Instant> proximaLimpeza = new AtomicReference<>(Instant.EPOCH);
+    private volatile FiltroDeBloom filtro;
+
+    public TokensRevogados(TokenRevogadoRepository tokenRevogadoRepository,
+                           @Value("${jwt.revogacao.capacidade:100000}") int capacidade,
+                           @Value("${jwt.expiration}") long validadeAccessToken) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.capacidade = capacidade;
+        this.validadeAccessToken = Duration.ofMillis(validadeAccessToken);
+        this.filtro = new FiltroDeBloom(capacidade, TAXA_FALSO_POSITIVO);
+    }
+
+    @PostConstruct
+    public void carregar() {
+        for (TokenRevogado revogado : tokenRevogadoRepository.findByExpiraEmAfter(Instant.now())) {
+            registrar(revogado);
+        }
+    }
+
+    // Tokens sem o claim de versão contam como versão 0
+    public boolean estaRevogado(String jti, Long idUsuario, Integer versao) {
+        if (idUsuario != null) {
+            Corte corte = cortes.get(idUsuario);
+            if (corte != null && (versao == null ? 0 : versao) < corte.versaoMinima()) {
+                return true;
+            }
+        }
+        return jti != null && filtro.podeConter(jti) && jtis.containsKey(jti);
+    }
+
+    @Transactional
+    public void revogarToken(String jti, Instant expiracao) {
+        if (jti == null) {
+            return;
+        }
+        registrarAposCommit(tokenRevogadoRepository.save(TokenRevogado.builder()
+                .jti(jti)
+                .revogadoEm(Instant.now())
+                .expiraEm(expiracao)
+                .build()));
+        limparSeNecessario();
+    }
+
+    // Invalida os access tokens do usuário com versão anterior a versaoMinima, a versão que os tokens
+    // emitidos daqui em diante já carregam
+    @Transactional
+    public void revogarUsuario(Long idUsuario, int versaoMinima) {
+        Instant agora = Instant.now();
+        registrarAposCommit(tokenRevogadoRepository.save(TokenRevogado.builder()
+                .idUsuario(idUsuario)
+                .versaoToken(versaoMinima)
+                .revogadoEm(agora)
+                .expiraEm(agora.plus(validadeAccessToken))
+                .build()));
+        limparSeNecessario();
+    }
+
+    private void registrarAposCommit(TokenRevogado revogado) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registrar(revogado);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                registrar(revogado);
+            }
+        });
+    }
+
+    private void registrar(TokenRevogado revogado) {
+        if (revogado.getJti() != null) {
+            jtis.put(revogado.getJti(), revogado.getExpiraEm());
+            filtro.adicionar(revogado.getJti());
+        }
+        if (revogado.getIdUsuario() != null && revogado.getVersaoToken() != null) {
+            cortes.merge(revogado.getIdUsuario(),
+                    new Corte(revogado.getVersaoToken(), revogado.getExpiraEm()),
+                    (atual, novo) -> new Corte(Math.max(atual.versaoMinima(), novo.versaoMinima()),
+                            atual.expiraEm().isAfter(novo.expiraEm()) ? atual.expiraEm() : novo.expiraEm()));
+        }
+    }
+
+    // Entradas expiradas não protegem mais nada: saem da memória e do banco, e o filtro é reconstruído
+    private void limparSeNecessario() {
+        Instant agora = Instant.now();
+        Instant prevista = proximaLimpeza.get();
+        if (agora.isBefore(prevista) || !proximaLimpeza.compareAndSet(prevista, agora.plus(INTERVALO_LIMPEZA))) {
+            return;
+        }
+
+        jtis.values().removeIf(expiracao -> expiracao.isBefore(agora));
+        cortes.values().removeIf(corte -> corte.expiraEm().isBefore(agora));
+
+        FiltroDeBloom novo = new FiltroDeBloom(Math.max(capacidade, jtis.size() * 2), TAXA_FALSO_POSITIVO);
+        jtis.keySet().forEach(novo::adicionar);
+        filtro = novo;
+        // Segunda passada cobre jtis registrados no filtro antigo durante a troca
+        jtis.keySet().forEach(novo::adicionar);
+
+        tokenRevogadoRepository.deleteExpirados(agora);
+    }
+
+    private record Corte(int versaoMinima, Instant expiraEm) {
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// Identidade do usuário autenticado extraída dos claims assinados do token
+public record UsuarioPrincipal(Long id, String email, StatusUsuario status) implements AuthenticatedPrincipal {
+
+    public static UsuarioPrincipal of(Usuario usuario) {
+        return new UsuarioPrincipal(usuario.getId(), usuario.getEmail(), usuario.getStatus());
+    }
+
+    public boolean isAtivo() {
+        return StatusUsuario.ATIVO.equals(status);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versão dos dados financeiros de cada usuário, usada como ETag nas leituras.
+// Todas as versões saem de um único relógio crescente iniciado no horário de subida da aplicação,
+// então um valor nunca se repete entre usuários, entre reinícios ou depois de uma remoção do cache
+@Component
+public class VersaoDadosUsuario {
+
+    private final AtomicLong relogio = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Cache<Long, Long> versoes;
+
+    public VersaoDadosUsuario(@Value("${etag.versoes.tamanho-maximo:100000}") long tamanhoMaximo) {
+        this.versoes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .build();
+    }
+
+    public long atual(Long idUsuario) {
+        return versoes.get(idUsuario, id -> relogio.incrementAndGet());
+    }
+
+    public void incrementar(Long idUsuario) {
+        versoes.put(idUsuario, relogio.incrementAndGet());
+    }
+
+    // O dia entra na ETag porque o dashboard e os orçamentos são calculados sobre o mês corrente
+    public String etag(Long idUsuario) {
+        return "\"" + Long.toString(atual(idUsuario), 36) + "-" + LocalDate.now() + "\"";
+    }
+
+    @EventListener
+    public void aoAlterarDadosFinanceiros(DadosFinanceirosAlteradosEvent evento) {
+        incrementar(evento.idUsuario());
+
+        // Incrementa de novo ao fim da transação: uma leitura que pegou a versão nova antes do commit
+        // ainda viu os dados antigos e não pode ficar valendo
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    incrementar(evento.idUsuario());
+                }
+            });
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package br.com.ufape.spendfy.config;
 
+import br.com.ufape.spendfy.component.TokenClaims;
+import br.com.ufape.spendfy.component.TokenVerificadoCache;
+import br.com.ufape.spendfy.component.TokensRevogados;
+import br.com.ufape.spendfy.component.UsuarioPrincipal;
+import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,19 +14,21 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenVerificadoCache tokenCache;
+    private final TokensRevogados tokensRevogados;
     private final UserDetailsService userDetailsService;
 
     @Override
@@ -32,7 +39,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -40,23 +46,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                TokenClaims claims = tokenCache.obter(jwt, jwtService::verificar);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                // Tokens emitidos antes dos claims de id e status ainda são resolvidos pelo banco
+                UsuarioPrincipal principal = claims.possuiUsuario()
+                        ? claims.toPrincipal()
+                        : UsuarioPrincipal.of((Usuario) userDetailsService.loadUserByUsername(claims.subject()));
+
+                if (principal.isAtivo() && !tokensRevogados.estaRevogado(claims.id(), principal.id(), claims.versao())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
+                            principal,
+                            claims,
+                            List.of()
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             } catch (Exception e) {
-                logger.warn("Token inválido ou utilizador não encontrado: " + userEmail);
+                logger.warn("Token inválido ou utilizador não encontrado: " + e.getMessage());
             }
         }
         filterChain.doFilter(request, response);
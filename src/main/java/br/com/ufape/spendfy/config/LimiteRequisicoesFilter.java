@@ -0,0 +1,161 @@
+package br.com.ufape.spendfy.config;
+
+import br.com.ufape.spendfy.component.BaldeDeTokens;
+import br.com.ufape.spendfy.component.UsuarioPrincipal;
+import br.com.ufape.spendfy.dto.error.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Limite de requisições por usuário autenticado (por IP em /api/auth/**), com um token bucket
+// por grupo de endpoints. Roda depois do filtro JWT para já conhecer o usuário.
+@Component
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private final boolean habilitado;
+    private final List<Grupo> grupos;
+    private final Grupo padrao;
+    private final ObjectMapper objectMapper;
+
+    public LimiteRequisicoesFilter(
+            @Value("${rate-limit.habilitado:true}") boolean habilitado,
+            @Value("${rate-limit.maximo-baldes:1000000}") long maximoBaldes,
+            @Value("${rate-limit.auth.capacidade:10}") long authCapacidade,
+            @Value("${rate-limit.auth.por-minuto:10}") long authPorMinuto,
+            @Value("${rate-limit.relatorios.capacidade:5}") long relatoriosCapacidade,
+            @Value("${rate-limit.relatorios.por-minuto:5}") long relatoriosPorMinuto,
+            @Value("${rate-limit.ia.capacidade:5}") long iaCapacidade,
+            @Value("${rate-limit.ia.por-minuto:5}") long iaPorMinuto,
+            @Value("${rate-limit.padrao.capacidade:120}") long padraoCapacidade,
+            @Value("${rate-limit.padrao.por-minuto:120}") long padraoPorMinuto,
+            ObjectMapper objectMapper
+    ) {
+        this.habilitado = habilitado;
+        this.objectMapper = objectMapper;
+        this.grupos = List.of(
+                new Grupo(List.of("/api/auth/"), true, authCapacidade, authPorMinuto, maximoBaldes),
+                new Grupo(List.of("/api/relatorios/", "/api/transacoes/export", "/api/transacoes/importar"), false,
+                        relatoriosCapacidade, relatoriosPorMinuto, maximoBaldes),
+                new Grupo(List.of("/api/insights/relatorio-mensal", "/api/transacoes/classificar"), false,
+                        iaCapacidade, iaPorMinuto, maximoBaldes));
+        this.padrao = new Grupo(List.of(), false, padraoCapacidade, padraoPorMinuto, maximoBaldes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !habilitado || !caminho(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String caminho = caminho(request);
+        Grupo grupo = grupos.stream()
+                .filter(g -> g.atende(caminho))
+                .findFirst()
+                .orElse(padrao);
+
+        BaldeDeTokens.Consumo consumo = grupo.consumir(chave(grupo, request));
+
+        response.setHeader("RateLimit-Limit", String.valueOf(consumo.limite()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(consumo.restantes()));
+        response.setHeader("RateLimit-Reset", String.valueOf(consumo.resetSegundos()));
+
+        if (!consumo.permitido()) {
+            rejeitar(request, response, consumo);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String chave(Grupo grupo, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (grupo.porIp() || authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        if (authentication.getPrincipal() instanceof UsuarioPrincipal principal) {
+            return "usuario:" + principal.id();
+        }
+        return "usuario:" + authentication.getName();
+    }
+
+    private void rejeitar(HttpServletRequest request, HttpServletResponse response,
+                          BaldeDeTokens.Consumo consumo) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Limite de requisições excedido, tente novamente em instantes")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, consumo.retryAfterSegundos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static final class Grupo {
+
+        private final List<String> prefixos;
+        private final boolean porIp;
+        private final long capacidade;
+        private final long porMinuto;
+        private final Cache<String, BaldeDeTokens> baldes;
+
+        private Grupo(List<String> prefixos, boolean porIp,
+                      long capacidade, long porMinuto, long maximoBaldes) {
+            this.prefixos = prefixos;
+            this.porIp = porIp;
+            this.capacidade = capacidade;
+            this.porMinuto = porMinuto;
+            // Um balde ocioso por tempo suficiente para encher equivale a um balde novo, então pode sair da memória
+            long nanosParaEncher = (long) Math.ceil((double) capacidade / porMinuto * TimeUnit.MINUTES.toNanos(1));
+            this.baldes = Caffeine.newBuilder()
+                    .maximumSize(maximoBaldes)
+                    .expireAfterAccess(Duration.ofNanos(nanosParaEncher))
+                    .build();
+        }
+
+        private boolean atende(String caminho) {
+            return prefixos.stream().anyMatch(caminho::startsWith);
+        }
+
+        private boolean porIp() {
+            return porIp;
+        }
+
+        private BaldeDeTokens.Consumo consumir(String chave) {
+            long agora = System.nanoTime();
+            return baldes.get(chave, k -> new BaldeDeTokens(capacidade, porMinuto, agora)).consumir(agora);
+        }
+    }
+}
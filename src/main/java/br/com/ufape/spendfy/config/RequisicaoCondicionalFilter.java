@@ -0,0 +1,63 @@
+package br.com.ufape.spendfy.config;
+
+import br.com.ufape.spendfy.component.UsuarioPrincipal;
+import br.com.ufape.spendfy.component.VersaoDadosUsuario;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+// GET condicional nas leituras dos dados financeiros: a ETag vem da versão dos dados do usuário,
+// então um If-None-Match igual é respondido com 304 antes de chegar ao controller e ao banco
+@Component
+@RequiredArgsConstructor
+public class RequisicaoCondicionalFilter extends OncePerRequestFilter {
+
+    private static final List<String> RECURSOS = List.of(
+            "/api/transacoes", "/api/contas", "/api/categorias", "/api/orcamentos", "/api/dashboard");
+
+    private final VersaoDadosUsuario versaoDados;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return RECURSOS.stream().noneMatch(r -> caminho.equals(r) || caminho.startsWith(r + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        // Só o principal do token traz o id sem consultar o banco; os demais seguem sem ETag
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UsuarioPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // A versão é lida antes da consulta: se os dados mudarem no meio, a próxima revalidação já difere
+        String etag = versaoDados.etag(principal.id());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,13 +1,16 @@
 package br.com.ufape.spendfy.controller;
 
+import br.com.ufape.spendfy.dto.auth.AlterarSenhaRequest;
 import br.com.ufape.spendfy.dto.auth.AuthResponse;
 import br.com.ufape.spendfy.dto.auth.LoginRequest;
+import br.com.ufape.spendfy.dto.auth.RefreshRequest;
 import br.com.ufape.spendfy.dto.auth.RegisterRequest;
 import br.com.ufape.spendfy.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,4 +33,29 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Troca um refresh token válido por um novo par de tokens; o refresh token usado deixa de valer")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoga o access token enviado no cabeçalho e o refresh token informado")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshRequest request
+    ) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/senha")
+    @Operation(summary = "Alterar senha", description = "Altera a senha do usuário autenticado, revoga todos os seus tokens e devolve um novo par")
+    public ResponseEntity<AuthResponse> alterarSenha(@Valid @RequestBody AlterarSenhaRequest request) {
+        return ResponseEntity.ok(authService.alterarSenha(request));
+    }
 }
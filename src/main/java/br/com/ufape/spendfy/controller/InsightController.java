@@ -1,5 +1,6 @@
 package br.com.ufape.spendfy.controller;
 
+import br.com.ufape.spendfy.dto.insight.FluxoMensalResponse;
 import br.com.ufape.spendfy.dto.insight.InsightMensalResponse;
 import br.com.ufape.spendfy.dto.insight.PrevisaoGastoResponse;
 import br.com.ufape.spendfy.dto.insight.ScoreResponse;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -38,6 +40,13 @@ public class InsightController {
         return ResponseEntity.ok(insightService.calcularScore());
     }
 
+    @GetMapping("/fluxo-mensal")
+    @Operation(summary = "Fluxo de caixa mensal",
+               description = "Receitas, despesas e saldo de cada um dos últimos N meses (até 60), incluindo o mês atual")
+    public ResponseEntity<List<FluxoMensalResponse>> getFluxoMensal(@RequestParam(defaultValue = "12") int meses) {
+        return ResponseEntity.ok(insightService.getFluxoMensal(meses));
+    }
+
     @GetMapping("/relatorio-mensal")
     @Operation(summary = "Relatório mensal com IA",
                description = "Gera um resumo personalizado das finanças do mês usando inteligência artificial")
@@ -2,6 +2,7 @@ package br.com.ufape.spendfy.controller;
 
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoRequest;
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoResponse;
+import br.com.ufape.spendfy.dto.orcamento.OrcamentoResumoResponse;
 import br.com.ufape.spendfy.service.OrcamentoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -35,6 +36,12 @@ public class OrcamentoController {
         return ResponseEntity.ok(orcamentoService.listarTodos());
     }
 
+    @GetMapping("/resumo")
+    @Operation(summary = "Resumo dos orçamentos", description = "Lista todos os orçamentos do usuário autenticado com o valor gasto de cada um e os totais consolidados")
+    public ResponseEntity<OrcamentoResumoResponse> resumir() {
+        return ResponseEntity.ok(orcamentoService.resumir());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar orçamento por ID", description = "Busca um orçamento específico pelo ID")
     public ResponseEntity<OrcamentoResponse> buscarPorId(@PathVariable Long id) {
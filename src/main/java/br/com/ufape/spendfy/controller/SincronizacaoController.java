@@ -0,0 +1,30 @@
+package br.com.ufape.spendfy.controller;
+
+import br.com.ufape.spendfy.dto.sincronizacao.SincronizacaoResponse;
+import br.com.ufape.spendfy.service.SincronizacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sincronização", description = "Sincronização incremental para clientes offline")
+@SecurityRequirement(name = "bearerAuth")
+public class SincronizacaoController {
+
+    private final SincronizacaoService sincronizacaoService;
+
+    @GetMapping
+    @Operation(summary = "Sincronizar",
+            description = "Sem token devolve todos os dados; com o proximoToken da resposta anterior devolve só o que foi criado, alterado ou excluído desde então")
+    public ResponseEntity<SincronizacaoResponse> sincronizar(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok(sincronizacaoService.sincronizar(since));
+    }
+}
@@ -1,24 +1,37 @@
 package br.com.ufape.spendfy.controller;
 
+import br.com.ufape.spendfy.dto.transacao.ImportacaoExtratoRequest;
+import br.com.ufape.spendfy.dto.transacao.TransacaoCursorResponse;
+import br.com.ufape.spendfy.dto.transacao.TransacaoLoteRequest;
 import br.com.ufape.spendfy.dto.transacao.TransacaoRequest;
 import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
 import br.com.ufape.spendfy.entity.enums.StatusTransacao;
 import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.service.BuscaTransacaoService;
+import br.com.ufape.spendfy.service.ImportacaoExtratoService;
 import br.com.ufape.spendfy.service.TransacaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/transacoes")
@@ -27,7 +40,11 @@ import java.time.LocalDate;
 @SecurityRequirement(name = "bearerAuth")
 public class TransacaoController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final TransacaoService transacaoService;
+    private final BuscaTransacaoService buscaTransacaoService;
+    private final ImportacaoExtratoService importacaoExtratoService;
 
     @PostMapping
     @Operation(summary = "Criar transação", description = "Cria uma nova transação para o usuário autenticado")
@@ -35,17 +52,49 @@ public class TransacaoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(transacaoService.criar(request));
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Criar transações em lote",
+            description = "Cria até 1000 transações de uma vez; se alguma for inválida, nenhuma é criada")
+    public ResponseEntity<List<TransacaoResponse>> criarEmLote(@Valid @RequestBody TransacaoLoteRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(transacaoService.criarEmLote(request));
+    }
+
+    @PostMapping(value = "/importar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar extrato",
+            description = "Importa um extrato CSV ou OFX em lotes e responde em NDJSON com os erros por linha, " +
+                          "o progresso a cada lote gravado e um resumo final")
+    public void importar(
+            @RequestParam("arquivo") MultipartFile arquivo,
+            @Valid @ModelAttribute ImportacaoExtratoRequest request,
+            HttpServletResponse response) throws IOException {
+        try (InputStream conteudo = arquivo.getInputStream();
+             ImportacaoExtratoService.Importacao importacao =
+                     importacaoExtratoService.preparar(conteudo, arquivo.getOriginalFilename(), request)) {
+            // O tipo da resposta só é definido depois da validação, para os erros dela saírem em JSON
+            response.setContentType(NDJSON);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            importacaoExtratoService.executar(importacao, response.getOutputStream());
+        }
+    }
+
     @GetMapping
-    @Operation(summary = "Listar transações", description = "Lista transações com filtros opcionais e paginação")
-    public ResponseEntity<Page<TransacaoResponse>> listarTodas(
+    @Operation(summary = "Listar transações",
+            description = "Lista transações com filtros opcionais e paginação; com total=false devolve apenas a página e se há próxima, sem contar o total")
+    public ResponseEntity<?> listarTodas(
             @RequestParam(required = false) TipoTransacao tipo,
             @RequestParam(required = false) StatusTransacao status,
             @RequestParam(required = false) Long categoriaId,
             @RequestParam(required = false) Long contaId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(defaultValue = "true") boolean total,
             @PageableDefault(size = 20, sort = "data") Pageable pageable) {
 
+        if (!total) {
+            return ResponseEntity.ok(transacaoService.listarFatia(
+                    tipo, status, categoriaId, contaId, dataInicio, dataFim, pageable));
+        }
+
         boolean hasFilter = tipo != null || status != null || categoriaId != null
                 || contaId != null || dataInicio != null || dataFim != null;
 
@@ -56,6 +105,57 @@ public class TransacaoController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar transações por cursor",
+            description = "Lista transações da mais recente para a mais antiga; envie o proximoCursor da resposta para obter a página seguinte")
+    public ResponseEntity<TransacaoCursorResponse> listarPorCursor(
+            @RequestParam(required = false) TipoTransacao tipo,
+            @RequestParam(required = false) StatusTransacao status,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long contaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(transacaoService.listarPorCursor(
+                tipo, status, categoriaId, contaId, dataInicio, dataFim, cursor, tamanho));
+    }
+
+    @GetMapping("/export.ndjson")
+    @Operation(summary = "Exportar transações em NDJSON",
+            description = "Exporta o histórico de transações, uma por linha em JSON, com os mesmos filtros da listagem")
+    public void exportarNdjson(
+            @RequestParam(required = false) TipoTransacao tipo,
+            @RequestParam(required = false) StatusTransacao status,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long contaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            HttpServletResponse response) throws IOException {
+        // Escrito na thread da requisição para que o cursor do banco fique dentro da transação do serviço
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transacoes.ndjson");
+        transacaoService.exportarNdjson(tipo, status, categoriaId, contaId, dataInicio, dataFim,
+                response.getOutputStream());
+    }
+
+    @GetMapping("/busca")
+    @Operation(summary = "Buscar transações por texto",
+            description = "Busca aproximada na descrição e na observação, tolerante a prefixos e erros de digitação, ordenada por relevância")
+    public ResponseEntity<List<TransacaoResponse>> buscarPorTexto(
+            @RequestParam String q,
+            @RequestParam(required = false) TipoTransacao tipo,
+            @RequestParam(required = false) StatusTransacao status,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long contaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(buscaTransacaoService.buscar(
+                q, tipo, status, categoriaId, contaId, dataInicio, dataFim, limite));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar transação por ID", description = "Busca uma transação específica pelo ID")
     public ResponseEntity<TransacaoResponse> buscarPorId(@PathVariable Long id) {
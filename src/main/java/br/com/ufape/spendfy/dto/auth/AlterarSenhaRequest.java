@@ -0,0 +1,22 @@
+package br.com.ufape.spendfy.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlterarSenhaRequest {
+
+    @NotBlank(message = "Senha atual é obrigatória")
+    private String senhaAtual;
+
+    @NotBlank(message = "Nova senha é obrigatória")
+    @Size(min = 6, message = "Nova senha deve ter no mínimo 6 caracteres")
+    private String novaSenha;
+}
@@ -12,13 +12,15 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String tipo;
     private Long id;
     private String nome;
     private String email;
 
-    public AuthResponse(String token, Long id, String nome, String email) {
+    public AuthResponse(String token, String refreshToken, Long id, String nome, String email) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.tipo = "Bearer";
         this.id = id;
         this.nome = nome;
@@ -0,0 +1,20 @@
+package br.com.ufape.spendfy.dto.insight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FluxoMensalResponse {
+    private YearMonth mes;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+}
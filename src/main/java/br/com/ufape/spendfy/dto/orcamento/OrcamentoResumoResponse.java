@@ -0,0 +1,22 @@
+package br.com.ufape.spendfy.dto.orcamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrcamentoResumoResponse {
+
+    private BigDecimal totalLimite;
+    private BigDecimal totalGasto;
+    private BigDecimal totalRestante;
+    private long quantidadeUltrapassados;
+    private List<OrcamentoResponse> orcamentos;
+}
@@ -0,0 +1,21 @@
+package br.com.ufape.spendfy.dto.sincronizacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Ids excluídos desde o último token, por tipo de recurso
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExclusoesResponse {
+
+    private List<Long> transacoes;
+    private List<Long> contas;
+    private List<Long> categorias;
+    private List<Long> orcamentos;
+}
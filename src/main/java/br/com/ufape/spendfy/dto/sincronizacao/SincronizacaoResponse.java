@@ -0,0 +1,28 @@
+package br.com.ufape.spendfy.dto.sincronizacao;
+
+import br.com.ufape.spendfy.dto.categoria.CategoriaResponse;
+import br.com.ufape.spendfy.dto.conta.ContaResponse;
+import br.com.ufape.spendfy.dto.orcamento.OrcamentoResponse;
+import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SincronizacaoResponse {
+
+    // Quando verdadeiro a resposta traz todos os dados e o cliente deve substituir sua cópia local
+    private boolean completo;
+    private List<TransacaoResponse> transacoes;
+    private List<ContaResponse> contas;
+    private List<CategoriaResponse> categorias;
+    private List<OrcamentoResponse> orcamentos;
+    private ExclusoesResponse exclusoes;
+    private String proximoToken;
+}
@@ -0,0 +1,25 @@
+package br.com.ufape.spendfy.dto.sincronizacao;
+
+import br.com.ufape.spendfy.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Momento a partir do qual o cliente ainda não viu alterações, serializado como token opaco
+public record TokenSincronizacao(LocalDateTime desde) {
+
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(desde.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TokenSincronizacao decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new TokenSincronizacao(LocalDateTime.parse(valor));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Token de sincronização inválido");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.ufape.spendfy.dto.transacao;
+
+import br.com.ufape.spendfy.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição da última transação de uma página (data, id), serializada como token opaco para o cliente
+public record CursorTransacao(LocalDate data, Long id) {
+
+    public String codificar() {
+        String valor = data + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorTransacao decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(':');
+            return new CursorTransacao(
+                    LocalDate.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.ufape.spendfy.dto.transacao;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Uma linha do NDJSON devolvido pela importação: erros por linha, progresso a cada lote gravado
+// e um evento final (CONCLUIDO, ou FALHA quando um lote não pôde ser gravado)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventoImportacao {
+
+    public enum Tipo {
+        ERRO,
+        PROGRESSO,
+        CONCLUIDO,
+        FALHA
+    }
+
+    private Tipo evento;
+    private Long linha;
+    private String mensagem;
+    private Long linhasLidas;
+    private Long importadas;
+    private Long rejeitadas;
+    private Long errosOmitidos;
+}
@@ -0,0 +1,20 @@
+package br.com.ufape.spendfy.dto.transacao;
+
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+
+import java.time.LocalDate;
+
+// Filtros opcionais das listagens de transações; campos nulos não restringem
+public record FiltroTransacao(TipoTransacao tipo, StatusTransacao status, Long categoriaId, Long contaId,
+                              LocalDate dataInicio, LocalDate dataFim) {
+
+    public boolean aceita(TipoTransacao tipo, StatusTransacao status, Long categoriaId, Long contaId, LocalDate data) {
+        return (this.tipo == null || this.tipo == tipo)
+                && (this.status == null || this.status == status)
+                && (this.categoriaId == null || this.categoriaId.equals(categoriaId))
+                && (this.contaId == null || this.contaId.equals(contaId))
+                && (dataInicio == null || !data.isBefore(dataInicio))
+                && (dataFim == null || !data.isAfter(dataFim));
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.ufape.spendfy.dto.transacao;
+
+import br.com.ufape.spendfy.entity.enums.FormatoExtrato;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Opções da importação de extrato. As colunas do CSV são nomes do cabeçalho (sem diferenciar
+// caixa e acentos) ou posições a partir de 1; o OFX ignora as opções de coluna e de formato
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportacaoExtratoRequest {
+
+    @NotNull(message = "ID da conta é obrigatório")
+    private Long idConta;
+
+    // Usada nas linhas sem categoria ou com categoria não encontrada
+    @NotNull(message = "ID da categoria é obrigatório")
+    private Long idCategoria;
+
+    // Quando ausente, é deduzido da extensão do arquivo
+    private FormatoExtrato formato;
+
+    @Builder.Default
+    private String charset = "UTF-8";
+
+    @Builder.Default
+    private Character separador = ';';
+
+    @Builder.Default
+    private Character separadorDecimal = ',';
+
+    @Builder.Default
+    private Boolean cabecalho = true;
+
+    @Builder.Default
+    private String formatoData = "dd/MM/yyyy";
+
+    @Builder.Default
+    private String colunaData = "data";
+
+    @Builder.Default
+    private String colunaValor = "valor";
+
+    @Builder.Default
+    private String colunaDescricao = "descricao";
+
+    // Sem coluna de tipo, valores negativos viram despesa e positivos receita
+    private String colunaTipo;
+
+    private String colunaCategoria;
+}
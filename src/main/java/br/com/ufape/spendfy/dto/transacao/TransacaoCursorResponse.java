@@ -0,0 +1,19 @@
+package br.com.ufape.spendfy.dto.transacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransacaoCursorResponse {
+
+    private List<TransacaoResponse> conteudo;
+    private String proximoCursor;
+    private boolean temMais;
+}
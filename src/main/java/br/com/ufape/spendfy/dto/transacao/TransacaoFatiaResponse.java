@@ -0,0 +1,20 @@
+package br.com.ufape.spendfy.dto.transacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransacaoFatiaResponse {
+
+    private List<TransacaoResponse> conteudo;
+    private int pagina;
+    private int tamanho;
+    private boolean temMais;
+}
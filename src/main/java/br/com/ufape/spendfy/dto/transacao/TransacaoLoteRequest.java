@@ -0,0 +1,22 @@
+package br.com.ufape.spendfy.dto.transacao;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransacaoLoteRequest {
+
+    @NotEmpty(message = "Informe ao menos uma transação")
+    @Size(max = 1000, message = "O lote deve ter no máximo 1000 transações")
+    private List<@Valid TransacaoRequest> transacoes;
+}
@@ -36,6 +36,10 @@ public class Conta {
     @Column(name = "saldo_inicial", nullable = false, precision = 15, scale = 2)
     private BigDecimal saldoInicial;
 
+    // Mantido por SaldoContaService via UPDATE atômico; nunca é sobrescrito pelo dirty checking
+    @Column(name = "saldo_atual", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal saldoAtual;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario", nullable = false)
     private Usuario usuario;
@@ -52,4 +56,11 @@ public class Conta {
     @JsonIgnore
     @Builder.Default
     private List<Transacao> transacoes = new ArrayList<>();
+
+    @PrePersist
+    private void inicializarSaldoAtual() {
+        if (saldoAtual == null) {
+            saldoAtual = saldoInicial;
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package br.com.ufape.spendfy.entity;
+
+import br.com.ufape.spendfy.entity.enums.RecursoSincronizado;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Registro de um recurso excluído, para que a sincronização incremental avise os clientes
+@Entity
+@Table(name = "exclusoes")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Exclusao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_exclusao")
+    private Long id;
+
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecursoSincronizado recurso;
+
+    @Column(name = "id_recurso", nullable = false)
+    private Long idRecurso;
+
+    @Column(name = "data_exclusao", nullable = false)
+    private LocalDateTime dataExclusao;
+
+    // Só em transações: categoria e data, para achar os orçamentos cujo gasto mudou
+    @Column(name = "id_categoria")
+    private Long idCategoria;
+
+    @Column(name = "data_transacao")
+    private LocalDate dataTransacao;
+}
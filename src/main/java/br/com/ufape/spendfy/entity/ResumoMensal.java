@@ -0,0 +1,60 @@
+package br.com.ufape.spendfy.entity;
+
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@Entity
+@Table(name = "resumos_mensais",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resumo_mensal",
+                columnNames = {"id_usuario", "id_categoria", "tipo", "ano_mes"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_resumo_mensal")
+    private Long id;
+
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    @Column(name = "id_categoria", nullable = false)
+    private Long idCategoria;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoTransacao tipo;
+
+    // Ano e mês codificados como yyyyMM (ex.: 202403)
+    @Column(name = "ano_mes", nullable = false)
+    private Integer anoMes;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    public static int anoMes(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+
+    public static int anoMes(LocalDate data) {
+        return anoMes(YearMonth.from(data));
+    }
+
+    public static YearMonth toYearMonth(int anoMes) {
+        return YearMonth.of(anoMes / 100, anoMes % 100);
+    }
+}
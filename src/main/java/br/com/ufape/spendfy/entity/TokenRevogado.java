@@ -0,0 +1,40 @@
+package br.com.ufape.spendfy.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Revogação de um access token (jti) ou de todos os tokens de um usuário com versão anterior a versaoToken;
+// mantida só até expiraEm, quando os tokens afetados já expiraram por conta própria
+@Entity
+@Table(name = "tokens_revogados")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevogado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_token_revogado")
+    private Long id;
+
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "versao_token")
+    private Integer versaoToken;
+
+    @Column(name = "revogado_em", nullable = false)
+    private Instant revogadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+}
@@ -23,8 +23,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Transacao {
 
+    // Sequência com blocos de 50 ids: permite agrupar os INSERTs em lotes JDBC (IDENTITY não permite)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacao_seq")
+    @SequenceGenerator(name = "transacao_seq", sequenceName = "transacoes_seq", allocationSize = 50)
     @Column(name = "id_transacao")
     private Long id;
 
@@ -75,4 +77,8 @@ public class Transacao {
     @UpdateTimestamp
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
+
+    public BigDecimal efeitoNoSaldo() {
+        return TipoTransacao.RECEITA.equals(tipo) ? valor : valor.negate();
+    }
 }
@@ -44,6 +44,11 @@ public class Usuario implements UserDetails {
     @Column(nullable = false, length = 20)
     private StatusUsuario status;
 
+    // Incrementada a cada troca de senha; access tokens de versão anterior são recusados
+    @Column(name = "versao_token", nullable = false)
+    @Builder.Default
+    private Integer versaoToken = 0;
+
     @CreationTimestamp
     @Column(name = "data_cadastro", nullable = false, updatable = false)
     private LocalDateTime dataCadastro;
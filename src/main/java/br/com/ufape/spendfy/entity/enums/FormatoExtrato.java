@@ -0,0 +1,6 @@
+package br.com.ufape.spendfy.entity.enums;
+
+public enum FormatoExtrato {
+    CSV,
+    OFX
+}
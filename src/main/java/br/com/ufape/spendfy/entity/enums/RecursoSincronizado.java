@@ -0,0 +1,8 @@
+package br.com.ufape.spendfy.entity.enums;
+
+public enum RecursoSincronizado {
+    TRANSACAO,
+    CONTA,
+    CATEGORIA,
+    ORCAMENTO
+}
@@ -0,0 +1,5 @@
+package br.com.ufape.spendfy.event;
+
+// Publicado sempre que contas, transações, categorias ou orçamentos de um usuário mudam
+public record DadosFinanceirosAlteradosEvent(Long idUsuario) {
+}
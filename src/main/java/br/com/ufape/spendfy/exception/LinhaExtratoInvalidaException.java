@@ -0,0 +1,15 @@
+package br.com.ufape.spendfy.exception;
+
+import lombok.Getter;
+
+// Linha do extrato que não pôde ser lida; a importação registra o erro e segue para a próxima
+@Getter
+public class LinhaExtratoInvalidaException extends RuntimeException {
+
+    private final long linha;
+
+    public LinhaExtratoInvalidaException(long linha, String message) {
+        super(message);
+        this.linha = linha;
+    }
+}
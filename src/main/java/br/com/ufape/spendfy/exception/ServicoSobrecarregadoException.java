@@ -0,0 +1,14 @@
+package br.com.ufape.spendfy.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    public ServicoSobrecarregadoException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.ufape.spendfy.exception;
+
+public class TokenInvalidoException extends RuntimeException {
+
+    public TokenInvalidoException(String message) {
+        super(message);
+    }
+}
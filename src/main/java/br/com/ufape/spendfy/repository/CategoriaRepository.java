@@ -4,6 +4,7 @@ import br.com.ufape.spendfy.entity.Categoria;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,5 +12,7 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
 
     List<Categoria> findByUsuarioId(Long idUsuario);
 
+    List<Categoria> findByUsuarioIdAndDataAtualizacaoAfter(Long idUsuario, LocalDateTime desde);
+
     boolean existsByNomeAndUsuarioId(String nome, Long idUsuario);
 }
@@ -2,8 +2,13 @@ package br.com.ufape.spendfy.repository;
 
 import br.com.ufape.spendfy.entity.Conta;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,5 +16,27 @@ public interface ContaRepository extends JpaRepository<Conta, Long> {
 
     List<Conta> findByUsuarioId(Long idUsuario);
 
+    List<Conta> findByUsuarioIdAndDataAtualizacaoAfter(Long idUsuario, LocalDateTime desde);
+
     boolean existsByNomeAndUsuarioId(String nome, Long idUsuario);
+
+    @Query("SELECT COALESCE(SUM(c.saldoAtual), 0) FROM Conta c WHERE c.usuario.id = :usuarioId")
+    BigDecimal sumSaldoAtualByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    // Os UPDATEs em massa não passam pelo @UpdateTimestamp; a data de atualização vai junto para a sincronização
+    default int adicionarAoSaldo(Long contaId, BigDecimal valor) {
+        return adicionarAoSaldo(contaId, valor, LocalDateTime.now());
+    }
+
+    default int definirSaldo(Long contaId, BigDecimal saldo) {
+        return definirSaldo(contaId, saldo, LocalDateTime.now());
+    }
+
+    @Modifying
+    @Query("UPDATE Conta c SET c.saldoAtual = c.saldoAtual + :valor, c.dataAtualizacao = :agora WHERE c.id = :contaId")
+    int adicionarAoSaldo(@Param("contaId") Long contaId, @Param("valor") BigDecimal valor, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("UPDATE Conta c SET c.saldoAtual = :saldo, c.dataAtualizacao = :agora WHERE c.id = :contaId")
+    int definirSaldo(@Param("contaId") Long contaId, @Param("saldo") BigDecimal saldo, @Param("agora") LocalDateTime agora);
 }
@@ -0,0 +1,41 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.entity.Exclusao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExclusaoRepository extends JpaRepository<Exclusao, Long> {
+
+    @Query("SELECT e.recurso, e.idRecurso FROM Exclusao e WHERE e.idUsuario = :usuarioId AND e.dataExclusao > :desde")
+    List<Object[]> findRecursosExcluidosDesde(@Param("usuarioId") Long usuarioId, @Param("desde") LocalDateTime desde);
+
+    // As exclusões em cascata viram um único INSERT ... SELECT, sem carregar os filhos
+    @Modifying
+    @Query(value = "INSERT INTO exclusoes (id_usuario, recurso, id_recurso, data_exclusao, id_categoria, data_transacao) " +
+                   "SELECT t.id_usuario, 'TRANSACAO', t.id_transacao, :agora, t.id_categoria, t.data FROM transacoes t WHERE t.id_conta = :contaId",
+           nativeQuery = true)
+    int registrarTransacoesDaConta(@Param("contaId") Long contaId, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query(value = "INSERT INTO exclusoes (id_usuario, recurso, id_recurso, data_exclusao, id_categoria, data_transacao) " +
+                   "SELECT t.id_usuario, 'TRANSACAO', t.id_transacao, :agora, t.id_categoria, t.data FROM transacoes t WHERE t.id_categoria = :categoriaId",
+           nativeQuery = true)
+    int registrarTransacoesDaCategoria(@Param("categoriaId") Long categoriaId, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query(value = "INSERT INTO exclusoes (id_usuario, recurso, id_recurso, data_exclusao) " +
+                   "SELECT o.id_usuario, 'ORCAMENTO', o.id_orcamento, :agora FROM orcamentos o WHERE o.id_categoria = :categoriaId",
+           nativeQuery = true)
+    int registrarOrcamentosDaCategoria(@Param("categoriaId") Long categoriaId, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM Exclusao e WHERE e.dataExclusao < :limite")
+    int deleteAnteriores(@Param("limite") LocalDateTime limite);
+}
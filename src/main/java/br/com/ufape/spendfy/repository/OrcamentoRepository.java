@@ -1,12 +1,16 @@
 package br.com.ufape.spendfy.repository;
 
 import br.com.ufape.spendfy.entity.Orcamento;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +20,53 @@ public interface OrcamentoRepository extends JpaRepository<Orcamento, Long> {
 
     List<Orcamento> findByUsuarioIdAndCategoriaId(Long idUsuario, Long idCategoria);
 
+    @Query("SELECT o FROM Orcamento o JOIN FETCH o.categoria WHERE o.usuario.id = :usuarioId")
+    List<Orcamento> findByUsuarioIdComCategoria(@Param("usuarioId") Long usuarioId);
+
+    // Alterados depois de desde, ou com gasto afetado por transação alterada ou excluída na mesma categoria e
+    // período. Exclusão sem categoria (gravada antes da V6) afeta todos
+    @Query("SELECT o FROM Orcamento o JOIN FETCH o.categoria WHERE o.usuario.id = :usuarioId AND (" +
+           "o.dataAtualizacao > :desde " +
+           "OR EXISTS (SELECT 1 FROM Transacao t WHERE t.usuario.id = :usuarioId AND t.dataAtualizacao > :desde " +
+           "AND t.categoria.id = o.categoria.id AND t.data BETWEEN o.dataInicio AND o.dataFim) " +
+           "OR EXISTS (SELECT 1 FROM Exclusao e WHERE e.idUsuario = :usuarioId AND e.dataExclusao > :desde " +
+           "AND e.recurso = br.com.ufape.spendfy.entity.enums.RecursoSincronizado.TRANSACAO " +
+           "AND (e.idCategoria IS NULL " +
+           "OR (e.idCategoria = o.categoria.id AND e.dataTransacao BETWEEN o.dataInicio AND o.dataFim))))")
+    List<Orcamento> findByUsuarioIdAlteradosDesde(@Param("usuarioId") Long usuarioId, @Param("desde") LocalDateTime desde);
+
+    // Marca como alterados os orçamentos que contavam uma transação antes de ela mudar de categoria ou data
+    @Modifying
+    @Query("UPDATE Orcamento o SET o.dataAtualizacao = :agora WHERE o.usuario.id = :usuarioId " +
+           "AND o.categoria.id = :categoriaId AND :data BETWEEN o.dataInicio AND o.dataFim")
+    int marcarAlteradosNaData(@Param("usuarioId") Long usuarioId, @Param("categoriaId") Long categoriaId,
+                              @Param("data") LocalDate data, @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT o FROM Orcamento o JOIN FETCH o.categoria WHERE o.usuario.id = :usuarioId " +
+           "AND o.dataInicio <= :fim AND o.dataFim >= :inicio")
+    List<Orcamento> findByUsuarioIdNoPeriodo(@Param("usuarioId") Long usuarioId, @Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    @Query("SELECT o.id, SUM(t.valor) FROM Orcamento o JOIN Transacao t " +
+           "ON t.usuario.id = o.usuario.id AND t.categoria.id = o.categoria.id " +
+           "AND t.data BETWEEN o.dataInicio AND o.dataFim AND t.tipo = :tipo " +
+           "WHERE o.usuario.id = :usuarioId " +
+           "GROUP BY o.id")
+    List<Object[]> sumValorGastoPorOrcamento(@Param("usuarioId") Long usuarioId, @Param("tipo") TipoTransacao tipo);
+
+    @Query("SELECT o.id, SUM(t.valor) FROM Orcamento o JOIN Transacao t " +
+           "ON t.usuario.id = o.usuario.id AND t.categoria.id = o.categoria.id " +
+           "AND t.data BETWEEN o.dataInicio AND o.dataFim AND t.tipo = :tipo " +
+           "WHERE o.id IN :ids " +
+           "GROUP BY o.id")
+    List<Object[]> sumValorGastoPorOrcamentoIds(@Param("ids") Collection<Long> ids, @Param("tipo") TipoTransacao tipo);
+
+    @Query("SELECT o.id, SUM(t.valor) FROM Orcamento o JOIN Transacao t " +
+           "ON t.usuario.id = o.usuario.id AND t.categoria.id = o.categoria.id " +
+           "AND t.data BETWEEN o.dataInicio AND o.dataFim AND t.tipo = :tipo " +
+           "WHERE o.usuario.id = :usuarioId AND o.dataInicio <= :fim AND o.dataFim >= :inicio " +
+           "GROUP BY o.id")
+    List<Object[]> sumValorGastoPorOrcamentoNoPeriodo(@Param("usuarioId") Long usuarioId, @Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim, @Param("tipo") TipoTransacao tipo);
+
     @Query("SELECT o FROM Orcamento o WHERE o.usuario.id = :idUsuario " +
            "AND o.categoria.id = :idCategoria " +
            "AND ((o.dataInicio BETWEEN :dataInicio AND :dataFim) " +
@@ -0,0 +1,48 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.entity.ResumoMensal;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, Long>, ResumoMensalRepositoryCustom {
+
+    // Só atualiza um resumo existente (usado nos estornos); acréscimos usam inserirOuAcumular
+    @Modifying
+    @Query("UPDATE ResumoMensal r SET r.total = r.total + :valor, r.quantidade = r.quantidade + :quantidade " +
+           "WHERE r.idUsuario = :usuarioId AND r.idCategoria = :categoriaId AND r.tipo = :tipo AND r.anoMes = :anoMes")
+    int acumular(@Param("usuarioId") Long usuarioId, @Param("categoriaId") Long categoriaId, @Param("tipo") TipoTransacao tipo, @Param("anoMes") Integer anoMes, @Param("valor") BigDecimal valor, @Param("quantidade") Long quantidade);
+
+    @Modifying
+    @Query("DELETE FROM ResumoMensal r WHERE r.idCategoria = :categoriaId")
+    int deleteByIdCategoria(@Param("categoriaId") Long categoriaId);
+
+    @Modifying
+    @Query("DELETE FROM ResumoMensal r WHERE r.idUsuario = :usuarioId")
+    int deleteByIdUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM ResumoMensal r WHERE r.idUsuario = :usuarioId AND r.idCategoria = :categoriaId AND r.tipo = :tipo AND r.anoMes BETWEEN :anoMesInicio AND :anoMesFim")
+    BigDecimal sumTotalByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(@Param("usuarioId") Long usuarioId, @Param("categoriaId") Long categoriaId, @Param("tipo") TipoTransacao tipo, @Param("anoMesInicio") Integer anoMesInicio, @Param("anoMesFim") Integer anoMesFim);
+
+    @Query("SELECT c.id, c.nome, c.cor, r.tipo, SUM(r.total) FROM ResumoMensal r JOIN Categoria c ON c.id = r.idCategoria " +
+           "WHERE r.idUsuario = :usuarioId AND r.anoMes BETWEEN :anoMesInicio AND :anoMesFim " +
+           "GROUP BY c.id, c.nome, c.cor, r.tipo HAVING SUM(r.quantidade) > 0 ORDER BY SUM(r.total) DESC")
+    List<Object[]> findTotaisPorCategoriaETipo(@Param("usuarioId") Long usuarioId, @Param("anoMesInicio") Integer anoMesInicio, @Param("anoMesFim") Integer anoMesFim);
+
+    @Query("SELECT c.id, c.nome, r.anoMes, SUM(r.total) FROM ResumoMensal r JOIN Categoria c ON c.id = r.idCategoria " +
+           "WHERE r.idUsuario = :usuarioId AND r.tipo = :tipo AND r.anoMes BETWEEN :anoMesInicio AND :anoMesFim " +
+           "GROUP BY c.id, c.nome, r.anoMes ORDER BY c.id")
+    List<Object[]> findTotaisPorCategoriaEMes(@Param("usuarioId") Long usuarioId, @Param("tipo") TipoTransacao tipo, @Param("anoMesInicio") Integer anoMesInicio, @Param("anoMesFim") Integer anoMesFim);
+
+    @Query("SELECT r.anoMes, r.tipo, SUM(r.total) FROM ResumoMensal r " +
+           "WHERE r.idUsuario = :usuarioId AND r.anoMes BETWEEN :anoMesInicio AND :anoMesFim " +
+           "GROUP BY r.anoMes, r.tipo ORDER BY r.anoMes")
+    List<Object[]> findTotaisPorMesETipo(@Param("usuarioId") Long usuarioId, @Param("anoMesInicio") Integer anoMesInicio, @Param("anoMesFim") Integer anoMesFim);
+}
@@ -0,0 +1,13 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+
+public interface ResumoMensalRepositoryCustom {
+
+    // Soma valor e quantidade ao resumo do mês, criando-o se ainda não existir, num único comando (upsert);
+    // escritas concorrentes no mesmo mês não disputam a chave única uk_resumo_mensal
+    void inserirOuAcumular(Long usuarioId, Long categoriaId, TipoTransacao tipo, Integer anoMes,
+                           BigDecimal valor, Long quantidade);
+}
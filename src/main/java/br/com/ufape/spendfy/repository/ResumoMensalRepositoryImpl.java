@@ -0,0 +1,68 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+@RequiredArgsConstructor
+class ResumoMensalRepositoryImpl implements ResumoMensalRepositoryCustom {
+
+    // ON CONFLICT espera a outra transação e soma sobre o registro dela, em vez de falhar na chave única
+    private static final String UPSERT_POSTGRESQL = """
+            INSERT INTO resumos_mensais (id_usuario, id_categoria, tipo, ano_mes, total, quantidade)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id_usuario, id_categoria, tipo, ano_mes) DO UPDATE
+            SET total = resumos_mensais.total + EXCLUDED.total,
+                quantidade = resumos_mensais.quantidade + EXCLUDED.quantidade""";
+
+    // O H2 não tem ON CONFLICT com DO UPDATE; no MERGE, duas primeiras escritas concorrentes ainda podem
+    // colidir na chave única, e a que perde repete o comando (o H2 desfaz só o comando, não a transação)
+    private static final String UPSERT_H2 = """
+            MERGE INTO resumos_mensais r
+            USING (SELECT CAST(? AS BIGINT) AS id_usuario, CAST(? AS BIGINT) AS id_categoria,
+                          CAST(? AS VARCHAR(20)) AS tipo, CAST(? AS INTEGER) AS ano_mes,
+                          CAST(? AS NUMERIC(15, 2)) AS total, CAST(? AS BIGINT) AS quantidade) n
+            ON r.id_usuario = n.id_usuario AND r.id_categoria = n.id_categoria
+               AND r.tipo = n.tipo AND r.ano_mes = n.ano_mes
+            WHEN MATCHED THEN UPDATE SET total = r.total + n.total, quantidade = r.quantidade + n.quantidade
+            WHEN NOT MATCHED THEN INSERT (id_usuario, id_categoria, tipo, ano_mes, total, quantidade)
+                VALUES (n.id_usuario, n.id_categoria, n.tipo, n.ano_mes, n.total, n.quantidade)""";
+
+    private static final int TENTATIVAS_H2 = 3;
+
+    private final EntityManager entityManager;
+
+    // Direto no JDBC: uma exceção da EntityManager marcaria a transação inteira para rollback antes da nova tentativa
+    @Override
+    public void inserirOuAcumular(Long usuarioId, Long categoriaId, TipoTransacao tipo, Integer anoMes,
+                                  BigDecimal valor, Long quantidade) {
+        boolean postgresql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+
+        entityManager.unwrap(Session.class).doWork(conexao -> {
+            for (int tentativa = 1; ; tentativa++) {
+                try (PreparedStatement comando = conexao.prepareStatement(postgresql ? UPSERT_POSTGRESQL : UPSERT_H2)) {
+                    comando.setLong(1, usuarioId);
+                    comando.setLong(2, categoriaId);
+                    comando.setString(3, tipo.name());
+                    comando.setInt(4, anoMes);
+                    comando.setBigDecimal(5, valor);
+                    comando.setLong(6, quantidade);
+                    comando.executeUpdate();
+                    return;
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    if (postgresql || tentativa == TENTATIVAS_H2) {
+                        throw e;
+                    }
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.entity.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, Long> {
+
+    List<TokenRevogado> findByExpiraEmAfter(Instant agora);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm < :agora")
+    int deleteExpirados(@Param("agora") Instant agora);
+}
@@ -3,8 +3,6 @@ package br.com.ufape.spendfy.repository;
 import br.com.ufape.spendfy.entity.Transacao;
 import br.com.ufape.spendfy.entity.enums.RecorrenciaTransacao;
 import br.com.ufape.spendfy.entity.enums.TipoTransacao;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -16,11 +14,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface TransacaoRepository extends JpaRepository<Transacao, Long>, JpaSpecificationExecutor<Transacao> {
-
-    List<Transacao> findByUsuarioId(Long idUsuario);
-
-    Page<Transacao> findByUsuarioId(Long idUsuario, Pageable pageable);
+public interface TransacaoRepository extends JpaRepository<Transacao, Long>, JpaSpecificationExecutor<Transacao>,
+        TransacaoRepositoryCustom {
 
     List<Transacao> findByUsuarioIdAndContaId(Long idUsuario, Long idConta);
 
@@ -33,18 +28,21 @@ public interface TransacaoRepository extends JpaRepository<Transacao, Long>, Jpa
     List<Transacao> findByRecorrenciaNotAndDataProximaOcorrenciaLessThanEqual(
             RecorrenciaTransacao recorrencia, LocalDate data);
 
-    @Query("SELECT COALESCE(SUM(t.valor), 0) FROM Transacao t WHERE t.conta.id = :contaId AND t.tipo = :tipo")
-    BigDecimal sumValorByContaIdAndTipo(@Param("contaId") Long contaId, @Param("tipo") TipoTransacao tipo);
-
-    @Query("SELECT COALESCE(SUM(t.valor), 0) FROM Transacao t WHERE t.categoria.id = :categoriaId AND t.usuario.id = :usuarioId AND t.data BETWEEN :dataInicio AND :dataFim AND t.tipo = :tipo")
-    BigDecimal sumValorByCategoriaAndPeriodoAndTipo(@Param("categoriaId") Long categoriaId, @Param("usuarioId") Long usuarioId, @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim, @Param("tipo") TipoTransacao tipo);
+    @Query("SELECT t.conta.id, SUM(CASE WHEN t.tipo = :receita THEN t.valor ELSE -t.valor END) FROM Transacao t GROUP BY t.conta.id")
+    List<Object[]> sumEfeitoNoSaldoPorConta(@Param("receita") TipoTransacao receita);
 
-    @Query("SELECT COALESCE(SUM(t.valor), 0) FROM Transacao t WHERE t.usuario.id = :usuarioId AND t.tipo = :tipo AND t.data BETWEEN :dataInicio AND :dataFim")
-    BigDecimal sumValorByUsuarioIdAndTipoAndPeriodo(@Param("usuarioId") Long usuarioId, @Param("tipo") TipoTransacao tipo, @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+    @Query("SELECT t.conta.id, SUM(CASE WHEN t.tipo = :receita THEN t.valor ELSE -t.valor END) FROM Transacao t WHERE t.categoria.id = :categoriaId GROUP BY t.conta.id")
+    List<Object[]> sumEfeitoNoSaldoPorContaByCategoriaId(@Param("categoriaId") Long categoriaId, @Param("receita") TipoTransacao receita);
 
     @Query("SELECT COALESCE(SUM(t.valor), 0) FROM Transacao t WHERE t.usuario.id = :usuarioId AND t.categoria.id = :categoriaId AND t.tipo = :tipo AND t.data BETWEEN :dataInicio AND :dataFim")
     BigDecimal sumValorByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(@Param("usuarioId") Long usuarioId, @Param("categoriaId") Long categoriaId, @Param("tipo") TipoTransacao tipo, @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
 
-    @Query("SELECT t.categoria.id, t.categoria.nome, t.categoria.cor, COALESCE(SUM(t.valor), 0) FROM Transacao t WHERE t.usuario.id = :usuarioId AND t.tipo = :tipo AND t.data BETWEEN :dataInicio AND :dataFim GROUP BY t.categoria.id, t.categoria.nome, t.categoria.cor ORDER BY SUM(t.valor) DESC")
-    List<Object[]> findGastosPorCategoria(@Param("usuarioId") Long usuarioId, @Param("tipo") TipoTransacao tipo, @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+    @Query("SELECT t.usuario.id, t.categoria.id, t.tipo, YEAR(t.data), MONTH(t.data), SUM(t.valor), COUNT(t) FROM Transacao t WHERE t.usuario.id = :usuarioId GROUP BY t.usuario.id, t.categoria.id, t.tipo, YEAR(t.data), MONTH(t.data)")
+    List<Object[]> sumValorPorMesByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT t.usuario.id, t.categoria.id, t.tipo, YEAR(t.data), MONTH(t.data), SUM(t.valor), COUNT(t) FROM Transacao t WHERE t.conta.id = :contaId GROUP BY t.usuario.id, t.categoria.id, t.tipo, YEAR(t.data), MONTH(t.data)")
+    List<Object[]> sumValorPorMesByContaId(@Param("contaId") Long contaId);
+
+    @Query("SELECT t.id, t.descricao, t.observacao, t.tipo, t.status, t.categoria.id, t.conta.id, t.data FROM Transacao t WHERE t.usuario.id = :usuarioId")
+    List<Object[]> findTextosParaBusca(@Param("usuarioId") Long usuarioId);
 }
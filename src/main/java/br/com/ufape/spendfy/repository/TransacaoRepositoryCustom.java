@@ -0,0 +1,30 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
+import br.com.ufape.spendfy.entity.Transacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Listagens projetadas direto em TransacaoResponse, com conta e categoria no mesmo SELECT
+public interface TransacaoRepositoryCustom {
+
+    // Como findAll(spec, pageable), mas busca uma linha a mais em vez de executar o count(*)
+    Slice<TransacaoResponse> findResponses(Specification<Transacao> spec, Pageable pageable);
+
+    List<TransacaoResponse> findResponses(Specification<Transacao> spec, Sort sort);
+
+    // Lê as linhas sob demanda por um cursor do banco; precisa ser consumido e fechado dentro da transação
+    Stream<TransacaoResponse> streamResponses(Specification<Transacao> spec, Sort sort);
+
+    // Busca por trigramas só existe no PostgreSQL (pg_trgm); nos demais bancos o serviço usa o índice em memória
+    boolean suportaBuscaPorTrigramas();
+
+    // Ids das transações do usuário mais parecidas com a consulta, da mais relevante para a menos relevante
+    List<Long> findIdsPorTrigramas(Long idUsuario, String consulta, FiltroTransacao filtro, int limite);
+}
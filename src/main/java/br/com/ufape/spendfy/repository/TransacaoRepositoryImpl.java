@@ -0,0 +1,158 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Transacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class TransacaoRepositoryImpl implements TransacaoRepositoryCustom {
+
+    // Precisa ser idêntica à expressão do índice idx_transacao_busca_trgm (migração V3 do PostgreSQL)
+    static final String TEXTO_BUSCA = "sem_acentos(lower(coalesce(t.descricao, '') || ' ' || coalesce(t.observacao, '')))";
+
+    // A consulta passa pela mesma normalização do texto indexado: caixa baixa e sem acentos
+    private static final String CONSULTA_BUSCA = "sem_acentos(lower(:consulta))";
+
+    // Linhas trazidas por ida ao banco ao percorrer um stream; sem isso o driver do PostgreSQL lê tudo de uma vez
+    private static final int TAMANHO_LOTE_STREAM = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<TransacaoResponse> findResponses(Specification<Transacao> spec, Pageable pageable) {
+        TypedQuery<TransacaoResponse> query = consulta(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<TransacaoResponse> resultado = query.getResultList();
+
+        boolean temMais = resultado.size() > pageable.getPageSize();
+        return new SliceImpl<>(temMais ? resultado.subList(0, pageable.getPageSize()) : resultado, pageable, temMais);
+    }
+
+    @Override
+    public List<TransacaoResponse> findResponses(Specification<Transacao> spec, Sort sort) {
+        return consulta(spec, sort).getResultList();
+    }
+
+    @Override
+    public Stream<TransacaoResponse> streamResponses(Specification<Transacao> spec, Sort sort) {
+        return consulta(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_STREAM)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public boolean suportaBuscaPorTrigramas() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    // %> (word_similarity acima de pg_trgm.word_similarity_threshold) é o operador atendido pelo índice GIN
+    @Override
+    public List<Long> findIdsPorTrigramas(Long idUsuario, String consulta, FiltroTransacao filtro, int limite) {
+        StringBuilder sql = new StringBuilder("SELECT t.id_transacao FROM transacoes t WHERE t.id_usuario = :usuarioId AND ")
+                .append(TEXTO_BUSCA).append(" %> ").append(CONSULTA_BUSCA);
+        Map<String, Object> parametros = new HashMap<>();
+        parametros.put("usuarioId", idUsuario);
+        parametros.put("consulta", consulta);
+
+        if (filtro.tipo() != null) {
+            sql.append(" AND t.tipo = :tipo");
+            parametros.put("tipo", filtro.tipo().name());
+        }
+        if (filtro.status() != null) {
+            sql.append(" AND t.status = :status");
+            parametros.put("status", filtro.status().name());
+        }
+        if (filtro.categoriaId() != null) {
+            sql.append(" AND t.id_categoria = :categoriaId");
+            parametros.put("categoriaId", filtro.categoriaId());
+        }
+        if (filtro.contaId() != null) {
+            sql.append(" AND t.id_conta = :contaId");
+            parametros.put("contaId", filtro.contaId());
+        }
+        if (filtro.dataInicio() != null) {
+            sql.append(" AND t.data >= :dataInicio");
+            parametros.put("dataInicio", filtro.dataInicio());
+        }
+        if (filtro.dataFim() != null) {
+            sql.append(" AND t.data <= :dataFim");
+            parametros.put("dataFim", filtro.dataFim());
+        }
+        sql.append(" ORDER BY word_similarity(").append(CONSULTA_BUSCA).append(", ").append(TEXTO_BUSCA)
+                .append(") DESC, t.data DESC, t.id_transacao DESC");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        parametros.forEach(query::setParameter);
+        query.setMaxResults(limite);
+
+        List<?> resultado = query.getResultList();
+        return resultado.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
+    // A ordem dos argumentos segue a dos campos de TransacaoResponse (construtor do @AllArgsConstructor)
+    private TypedQuery<TransacaoResponse> consulta(Specification<Transacao> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransacaoResponse> query = cb.createQuery(TransacaoResponse.class);
+        Root<Transacao> root = query.from(Transacao.class);
+        Join<Transacao, Conta> conta = root.join("conta");
+        Join<Transacao, Categoria> categoria = root.join("categoria");
+
+        query.select(cb.construct(TransacaoResponse.class,
+                root.get("id"),
+                root.get("tipo"),
+                root.get("data"),
+                root.get("valor"),
+                root.get("descricao"),
+                root.get("observacao"),
+                root.get("status"),
+                root.get("usuario").get("id"),
+                conta.get("id"),
+                conta.get("nome"),
+                categoria.get("id"),
+                categoria.get("nome"),
+                root.get("recorrencia"),
+                root.get("dataProximaOcorrencia"),
+                root.get("dataCadastro"),
+                root.get("dataAtualizacao")));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+}
@@ -4,10 +4,8 @@ import br.com.ufape.spendfy.entity.Conta;
 import br.com.ufape.spendfy.entity.Orcamento;
 import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.TipoAlerta;
-import br.com.ufape.spendfy.entity.enums.TipoTransacao;
 import br.com.ufape.spendfy.repository.ContaRepository;
 import br.com.ufape.spendfy.repository.OrcamentoRepository;
-import br.com.ufape.spendfy.repository.TransacaoRepository;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +17,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -31,7 +29,7 @@ public class AlertaScheduler {
     private final UsuarioRepository usuarioRepository;
     private final OrcamentoRepository orcamentoRepository;
     private final ContaRepository contaRepository;
-    private final TransacaoRepository transacaoRepository;
+    private final GastoOrcamentoService gastoOrcamentoService;
     private final AlertaService alertaService;
 
     @Scheduled(cron = "0 0 8 * * *")
@@ -46,21 +44,15 @@ public class AlertaScheduler {
 
     private void verificarOrcamentos(Usuario usuario) {
         LocalDate hoje = LocalDate.now();
-        List<Orcamento> orcamentos = orcamentoRepository.findByUsuarioId(usuario.getId()).stream()
-                .filter(o -> !o.getDataFim().isBefore(hoje) && !o.getDataInicio().isAfter(hoje))
-                .toList();
+        List<Orcamento> orcamentos = orcamentoRepository.findByUsuarioIdNoPeriodo(usuario.getId(), hoje, hoje);
+        if (orcamentos.isEmpty()) return;
+
+        Map<Long, BigDecimal> gastos = gastoOrcamentoService.calcularGastosNoPeriodo(usuario.getId(), hoje, hoje);
 
         for (Orcamento orcamento : orcamentos) {
             if (orcamento.getValorLimite().compareTo(BigDecimal.ZERO) == 0) continue;
 
-            BigDecimal valorGasto = Objects.requireNonNullElse(
-                    transacaoRepository.sumValorByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
-                            usuario.getId(),
-                            orcamento.getCategoria().getId(),
-                            TipoTransacao.DESPESA,
-                            orcamento.getDataInicio(),
-                            orcamento.getDataFim()),
-                    BigDecimal.ZERO);
+            BigDecimal valorGasto = gastos.getOrDefault(orcamento.getId(), BigDecimal.ZERO);
 
             BigDecimal percentual = valorGasto.multiply(BigDecimal.valueOf(100))
                     .divide(orcamento.getValorLimite(), 2, RoundingMode.HALF_UP);
@@ -82,13 +74,7 @@ public class AlertaScheduler {
 
     private void verificarSaldoBaixo(Usuario usuario) {
         for (Conta conta : contaRepository.findByUsuarioId(usuario.getId())) {
-            BigDecimal receitas = Objects.requireNonNullElse(
-                    transacaoRepository.sumValorByContaIdAndTipo(conta.getId(), TipoTransacao.RECEITA),
-                    BigDecimal.ZERO);
-            BigDecimal despesas = Objects.requireNonNullElse(
-                    transacaoRepository.sumValorByContaIdAndTipo(conta.getId(), TipoTransacao.DESPESA),
-                    BigDecimal.ZERO);
-            BigDecimal saldo = conta.getSaldoInicial().add(receitas).subtract(despesas);
+            BigDecimal saldo = conta.getSaldoAtual();
 
             if (saldo.compareTo(LIMITE_SALDO_BAIXO) < 0) {
                 alertaService.criarAlerta(usuario, TipoAlerta.SALDO_BAIXO,
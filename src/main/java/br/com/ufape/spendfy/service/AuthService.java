@@ -1,16 +1,25 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
+import br.com.ufape.spendfy.component.TokenClaims;
+import br.com.ufape.spendfy.component.TokensRevogados;
+import br.com.ufape.spendfy.dto.auth.AlterarSenhaRequest;
 import br.com.ufape.spendfy.dto.auth.AuthResponse;
 import br.com.ufape.spendfy.dto.auth.LoginRequest;
+import br.com.ufape.spendfy.dto.auth.RefreshRequest;
 import br.com.ufape.spendfy.dto.auth.RegisterRequest;
 import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.exception.BusinessException;
+import br.com.ufape.spendfy.exception.TokenInvalidoException;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +29,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final TokensRevogados tokensRevogados;
+    private final AuthenticatedUserResolver userResolver;
 
     public AuthResponse register(RegisterRequest request) {
         if (usuarioRepository.existsByEmail(request.getEmail())) {
@@ -35,9 +47,7 @@ public class AuthService {
 
         usuario = usuarioRepository.save(usuario);
 
-        String jwtToken = jwtService.generateToken(usuario);
-
-        return new AuthResponse(jwtToken, usuario.getId(), usuario.getNome(), usuario.getEmail());
+        return gerarResposta(usuario);
     }
 
     public AuthResponse login(LoginRequest request) {
@@ -51,8 +61,57 @@ public class AuthService {
         Usuario usuario = usuarioRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
+        return gerarResposta(usuario);
+    }
+
+    // O status é relido do banco aqui, então um usuário desativado não obtém novos access tokens
+    public AuthResponse refresh(RefreshRequest request) {
+        Long idUsuario = refreshTokenService.consumir(request.getRefreshToken());
+
+        Usuario usuario = usuarioRepository.findById(idUsuario)
+                .filter(Usuario::isEnabled)
+                .orElseThrow(() -> new TokenInvalidoException("Refresh token inválido"));
+
+        return gerarResposta(usuario);
+    }
+
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revogar(refreshToken);
+        }
+        if (accessToken != null) {
+            try {
+                TokenClaims claims = jwtService.verificar(accessToken);
+                tokensRevogados.revogarToken(claims.id(), claims.expiracao());
+            } catch (JwtException e) {
+                // Token já inválido ou expirado: não há o que revogar
+            }
+        }
+    }
+
+    // Todos os tokens do usuário são revogados pela versão; o par devolvido aqui, os refreshes e os novos
+    // logins já saem com a versão nova, mesmo no mesmo segundo da troca
+    @Transactional
+    public AuthResponse alterarSenha(AlterarSenhaRequest request) {
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+
+        if (!passwordEncoder.matches(request.getSenhaAtual(), usuario.getSenha())) {
+            throw new BusinessException("Senha atual incorreta");
+        }
+
+        usuario.setSenha(passwordEncoder.encode(request.getNovaSenha()));
+        usuario.setVersaoToken(usuario.getVersaoToken() + 1);
+        usuarioRepository.save(usuario);
+
+        refreshTokenService.revogarTodos(usuario.getId());
+        tokensRevogados.revogarUsuario(usuario.getId(), usuario.getVersaoToken());
+        return gerarResposta(usuario);
+    }
+
+    private AuthResponse gerarResposta(Usuario usuario) {
         String jwtToken = jwtService.generateToken(usuario);
+        String refreshToken = refreshTokenService.emitir(usuario.getId());
 
-        return new AuthResponse(jwtToken, usuario.getId(), usuario.getNome(), usuario.getEmail());
+        return new AuthResponse(jwtToken, refreshToken, usuario.getId(), usuario.getNome(), usuario.getEmail());
     }
 }
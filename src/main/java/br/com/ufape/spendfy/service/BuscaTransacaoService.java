@@ -0,0 +1,83 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
+import br.com.ufape.spendfy.component.IndiceBuscaTransacoes;
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.exception.BusinessException;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.specification.TransacaoSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BuscaTransacaoService {
+
+    private static final int TAMANHO_MINIMO_CONSULTA = 2;
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final TransacaoRepository transacaoRepository;
+    private final AuthenticatedUserResolver userResolver;
+    private final IndiceBuscaTransacoes indiceBusca;
+
+    // Busca aproximada em descrição e observação: trigramas indexados no PostgreSQL ou o índice em memória
+    // nos demais bancos; os resultados saem da mais relevante para a menos relevante
+    @Transactional(readOnly = true)
+    public List<TransacaoResponse> buscar(String consulta, TipoTransacao tipo, StatusTransacao status,
+            Long categoriaId, Long contaId, LocalDate dataInicio, LocalDate dataFim, int limite) {
+        String termo = consulta != null ? consulta.strip() : "";
+        if (termo.length() < TAMANHO_MINIMO_CONSULTA) {
+            throw new BusinessException("A busca deve ter ao menos " + TAMANHO_MINIMO_CONSULTA + " caracteres");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        FiltroTransacao filtro = new FiltroTransacao(tipo, status, categoriaId, contaId, dataInicio, dataFim);
+
+        List<Long> ids = transacaoRepository.suportaBuscaPorTrigramas()
+                ? transacaoRepository.findIdsPorTrigramas(usuario.getId(), termo, filtro, limite)
+                : indiceBusca.buscar(usuario.getId(), termo, filtro, limite, () -> carregarDocumentos(usuario.getId()));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TransacaoResponse> porId = transacaoRepository.findResponses(
+                        TransacaoSpecification.doUsuario(usuario.getId()).and(TransacaoSpecification.comIds(ids)),
+                        Sort.unsorted())
+                .stream()
+                .collect(Collectors.toMap(TransacaoResponse::getId, Function.identity()));
+
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private List<IndiceBuscaTransacoes.Documento> carregarDocumentos(Long idUsuario) {
+        return transacaoRepository.findTextosParaBusca(idUsuario).stream()
+                .map(linha -> new IndiceBuscaTransacoes.Documento(
+                        (Long) linha[0],
+                        (linha[1] != null ? linha[1] : "") + " " + (linha[2] != null ? linha[2] : ""),
+                        (TipoTransacao) linha[3],
+                        (StatusTransacao) linha[4],
+                        (Long) linha[5],
+                        (Long) linha[6],
+                        (LocalDate) linha[7]))
+                .collect(Collectors.toList());
+    }
+}
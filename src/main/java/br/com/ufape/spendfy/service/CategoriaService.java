@@ -1,18 +1,20 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
 import br.com.ufape.spendfy.dto.categoria.CategoriaRequest;
 import br.com.ufape.spendfy.dto.categoria.CategoriaResponse;
 import br.com.ufape.spendfy.entity.Categoria;
 import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
 import br.com.ufape.spendfy.exception.BusinessException;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.CategoriaRepository;
-import br.com.ufape.spendfy.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,17 +23,15 @@ import java.util.stream.Collectors;
 public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
-    private final UsuarioRepository usuarioRepository;
-
-    private Usuario getUsuarioAutenticado() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
-    }
+    private final AuthenticatedUserResolver userResolver;
+    private final SaldoContaService saldoContaService;
+    private final ResumoMensalService resumoMensalService;
+    private final ExclusaoService exclusaoService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CategoriaResponse criar(CategoriaRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
 
         if (categoriaRepository.existsByNomeAndUsuarioId(request.getNome(), usuario.getId())) {
             throw new BusinessException("Já existe uma categoria com este nome");
@@ -45,21 +45,34 @@ public class CategoriaService {
 
         categoria = categoriaRepository.save(categoria);
 
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
         return toResponse(categoria);
     }
 
     @Transactional(readOnly = true)
     public List<CategoriaResponse> listarTodas() {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         return categoriaRepository.findByUsuarioId(usuario.getId())
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // Categorias criadas ou alteradas depois de desde (todas quando desde é nulo), para a sincronização
+    @Transactional(readOnly = true)
+    public List<CategoriaResponse> listarAlteradasDesde(Long idUsuario, LocalDateTime desde) {
+        List<Categoria> categorias = desde == null
+                ? categoriaRepository.findByUsuarioId(idUsuario)
+                : categoriaRepository.findByUsuarioIdAndDataAtualizacaoAfter(idUsuario, desde);
+        return categorias.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public CategoriaResponse buscarPorId(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Categoria categoria = categoriaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria", "id", id));
 
@@ -72,7 +85,7 @@ public class CategoriaService {
 
     @Transactional
     public CategoriaResponse atualizar(Long id, CategoriaRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Categoria categoria = categoriaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria", "id", id));
 
@@ -90,12 +103,14 @@ public class CategoriaService {
 
         categoria = categoriaRepository.save(categoria);
 
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
         return toResponse(categoria);
     }
 
     @Transactional
     public void deletar(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Categoria categoria = categoriaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria", "id", id));
 
@@ -103,7 +118,11 @@ public class CategoriaService {
             throw new BusinessException("Categoria não pertence ao usuário autenticado");
         }
 
+        saldoContaService.estornarTransacoesDaCategoria(categoria.getId());
+        resumoMensalService.removerCategoria(categoria.getId());
+        exclusaoService.registrarCategoria(categoria);
         categoriaRepository.delete(categoria);
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
     }
 
     private CategoriaResponse toResponse(Categoria categoria) {
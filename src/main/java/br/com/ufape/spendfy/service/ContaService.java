@@ -1,21 +1,21 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
 import br.com.ufape.spendfy.dto.conta.ContaRequest;
 import br.com.ufape.spendfy.dto.conta.ContaResponse;
 import br.com.ufape.spendfy.entity.Conta;
 import br.com.ufape.spendfy.entity.Usuario;
-import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
 import br.com.ufape.spendfy.exception.BusinessException;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.ContaRepository;
-import br.com.ufape.spendfy.repository.TransacaoRepository;
-import br.com.ufape.spendfy.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,18 +24,14 @@ import java.util.stream.Collectors;
 public class ContaService {
 
     private final ContaRepository contaRepository;
-    private final UsuarioRepository usuarioRepository;
-    private final TransacaoRepository transacaoRepository;
-
-    private Usuario getUsuarioAutenticado() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
-    }
+    private final AuthenticatedUserResolver userResolver;
+    private final ResumoMensalService resumoMensalService;
+    private final ExclusaoService exclusaoService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ContaResponse criar(ContaRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
 
         if (contaRepository.existsByNomeAndUsuarioId(request.getNome(), usuario.getId())) {
             throw new BusinessException("Já existe uma conta com este nome");
@@ -45,26 +41,40 @@ public class ContaService {
                 .nome(request.getNome())
                 .tipo(request.getTipo())
                 .saldoInicial(request.getSaldoInicial())
+                .saldoAtual(request.getSaldoInicial())
                 .usuario(usuario)
                 .build();
 
         conta = contaRepository.save(conta);
 
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
         return toResponse(conta);
     }
 
     @Transactional(readOnly = true)
     public List<ContaResponse> listarTodas() {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         return contaRepository.findByUsuarioId(usuario.getId())
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // Contas criadas ou alteradas depois de desde (todas quando desde é nulo), para a sincronização
+    @Transactional(readOnly = true)
+    public List<ContaResponse> listarAlteradasDesde(Long idUsuario, LocalDateTime desde) {
+        List<Conta> contas = desde == null
+                ? contaRepository.findByUsuarioId(idUsuario)
+                : contaRepository.findByUsuarioIdAndDataAtualizacaoAfter(idUsuario, desde);
+        return contas.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public ContaResponse buscarPorId(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Conta conta = contaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Conta", "id", id));
 
@@ -77,7 +87,7 @@ public class ContaService {
 
     @Transactional
     public ContaResponse atualizar(Long id, ContaRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Conta conta = contaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Conta", "id", id));
 
@@ -90,18 +100,26 @@ public class ContaService {
             throw new BusinessException("Já existe uma conta com este nome");
         }
 
+        BigDecimal ajusteSaldo = request.getSaldoInicial().subtract(conta.getSaldoInicial());
+        if (ajusteSaldo.signum() != 0) {
+            contaRepository.adicionarAoSaldo(conta.getId(), ajusteSaldo);
+            conta.setSaldoAtual(conta.getSaldoAtual().add(ajusteSaldo));
+        }
+
         conta.setNome(request.getNome());
         conta.setTipo(request.getTipo());
         conta.setSaldoInicial(request.getSaldoInicial());
 
         conta = contaRepository.save(conta);
 
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
         return toResponse(conta);
     }
 
     @Transactional
     public void deletar(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Conta conta = contaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Conta", "id", id));
 
@@ -109,20 +127,19 @@ public class ContaService {
             throw new BusinessException("Conta não pertence ao usuário autenticado");
         }
 
+        resumoMensalService.estornarTransacoesDaConta(conta.getId());
+        exclusaoService.registrarConta(conta);
         contaRepository.delete(conta);
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
     }
 
     private ContaResponse toResponse(Conta conta) {
-        BigDecimal receitas = transacaoRepository.sumValorByContaIdAndTipo(conta.getId(), TipoTransacao.RECEITA);
-        BigDecimal despesas = transacaoRepository.sumValorByContaIdAndTipo(conta.getId(), TipoTransacao.DESPESA);
-        BigDecimal saldoAtual = conta.getSaldoInicial().add(receitas).subtract(despesas);
-
         return ContaResponse.builder()
                 .id(conta.getId())
                 .nome(conta.getNome())
                 .tipo(conta.getTipo())
                 .saldoInicial(conta.getSaldoInicial())
-                .saldoAtual(saldoAtual)
+                .saldoAtual(conta.getSaldoAtual())
                 .idUsuario(conta.getUsuario().getId())
                 .dataCadastro(conta.getDataCadastro())
                 .dataAtualizacao(conta.getDataAtualizacao())
@@ -1,14 +1,13 @@
 package br.com.ufape.spendfy.service;
 
 import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
-import br.com.ufape.spendfy.dto.conta.ContaResponse;
+import br.com.ufape.spendfy.component.DashboardCache;
 import br.com.ufape.spendfy.dto.dashboard.CategoriaGastoResponse;
 import br.com.ufape.spendfy.dto.dashboard.DashboardResponse;
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoResponse;
 import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.TipoTransacao;
-import br.com.ufape.spendfy.repository.OrcamentoRepository;
-import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.repository.ContaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,48 +15,40 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final AuthenticatedUserResolver userResolver;
-    private final ContaService contaService;
+    private final ContaRepository contaRepository;
     private final OrcamentoService orcamentoService;
-    private final TransacaoRepository transacaoRepository;
+    private final ResumoMensalService resumoMensalService;
+    private final DashboardCache dashboardCache;
 
     @Transactional(readOnly = true)
     public DashboardResponse getDashboard() {
         Usuario usuario = userResolver.getUsuarioAutenticado();
+        LocalDate hoje = LocalDate.now();
+        return dashboardCache.obter(usuario.getId(), hoje, () -> calcularDashboard(usuario, hoje));
+    }
 
-        LocalDate inicioMes = LocalDate.now().withDayOfMonth(1);
-        LocalDate fimMes = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
-
-        BigDecimal saldoTotal = contaService.listarTodas().stream()
-                .map(ContaResponse::getSaldoAtual)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private DashboardResponse calcularDashboard(Usuario usuario, LocalDate hoje) {
+        BigDecimal saldoTotal = contaRepository.sumSaldoAtualByUsuarioId(usuario.getId());
 
-        BigDecimal totalReceitas = Objects.requireNonNullElse(
-                transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                        usuario.getId(), TipoTransacao.RECEITA, inicioMes, fimMes),
-                BigDecimal.ZERO);
+        // Linhas: idCategoria, nome, cor, tipo, total — ordenadas pelo total decrescente
+        List<Object[]> totaisDoMes = resumoMensalService.totaisPorCategoriaETipoNoMes(
+                usuario.getId(), YearMonth.from(hoje));
 
-        BigDecimal totalDespesas = Objects.requireNonNullElse(
-                transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                        usuario.getId(), TipoTransacao.DESPESA, inicioMes, fimMes),
-                BigDecimal.ZERO);
+        BigDecimal totalReceitas = somarPorTipo(totaisDoMes, TipoTransacao.RECEITA);
+        BigDecimal totalDespesas = somarPorTipo(totaisDoMes, TipoTransacao.DESPESA);
 
-        List<CategoriaGastoResponse> topCategorias = buildTopCategorias(
-                usuario.getId(), inicioMes, fimMes, totalDespesas);
+        List<CategoriaGastoResponse> topCategorias = buildTopCategorias(totaisDoMes, totalDespesas);
 
-        List<OrcamentoResponse> orcamentosAtivos = orcamentoService.listarTodos().stream()
-                .filter(o -> !o.getDataFim().isBefore(LocalDate.now())
-                        && !o.getDataInicio().isAfter(LocalDate.now()))
-                .collect(Collectors.toList());
+        List<OrcamentoResponse> orcamentosAtivos = orcamentoService.listarAtivos(usuario.getId(), hoje);
 
         return DashboardResponse.builder()
                 .saldoTotal(saldoTotal)
@@ -69,17 +60,24 @@ public class DashboardService {
                 .build();
     }
 
-    private List<CategoriaGastoResponse> buildTopCategorias(Long idUsuario, LocalDate inicio,
-                                                              LocalDate fim, BigDecimal totalDespesas) {
-        List<Object[]> rows = transacaoRepository.findGastosPorCategoria(
-                idUsuario, TipoTransacao.DESPESA, inicio, fim);
+    private BigDecimal somarPorTipo(List<Object[]> rows, TipoTransacao tipo) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Object[] row : rows) {
+            if (tipo.equals(row[3])) {
+                total = total.add((BigDecimal) row[4]);
+            }
+        }
+        return total;
+    }
 
+    private List<CategoriaGastoResponse> buildTopCategorias(List<Object[]> rows, BigDecimal totalDespesas) {
         List<CategoriaGastoResponse> result = new ArrayList<>();
-        int limite = Math.min(5, rows.size());
 
-        for (int i = 0; i < limite; i++) {
-            Object[] row = rows.get(i);
-            BigDecimal total = (BigDecimal) row[3];
+        for (Object[] row : rows) {
+            if (result.size() == 5) break;
+            if (!TipoTransacao.DESPESA.equals(row[3])) continue;
+
+            BigDecimal total = (BigDecimal) row[4];
             BigDecimal percentual = totalDespesas.compareTo(BigDecimal.ZERO) > 0
                     ? total.multiply(BigDecimal.valueOf(100)).divide(totalDespesas, 2, RoundingMode.HALF_UP)
                     : BigDecimal.ZERO;
@@ -0,0 +1,28 @@
+package br.com.ufape.spendfy.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExclusaoLimpezaScheduler {
+
+    private final ExclusaoService exclusaoService;
+
+    @Value("${sync.retencao-exclusoes:90d}")
+    private Duration retencaoExclusoes;
+
+    // Tokens mais antigos que a retenção recebem uma cópia completa, então as exclusões podem sair
+    @Scheduled(cron = "0 30 3 * * *")
+    public void removerExclusoesAntigas() {
+        int removidas = exclusaoService.removerAnteriores(LocalDateTime.now().minus(retencaoExclusoes));
+        log.info("Limpeza do registro de exclusões: {} removida(s)", removidas);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Exclusao;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.enums.RecursoSincronizado;
+import br.com.ufape.spendfy.repository.ExclusaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Guarda as exclusões que a sincronização incremental precisa repassar aos clientes.
+// Deve ser chamado antes do delete, enquanto os filhos em cascata ainda existem
+@Service
+@RequiredArgsConstructor
+public class ExclusaoService {
+
+    private final ExclusaoRepository exclusaoRepository;
+
+    @Transactional
+    public void registrar(Long idUsuario, RecursoSincronizado recurso, Long idRecurso) {
+        exclusaoRepository.save(Exclusao.builder()
+                .idUsuario(idUsuario)
+                .recurso(recurso)
+                .idRecurso(idRecurso)
+                .dataExclusao(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional
+    public void registrarTransacao(Transacao transacao) {
+        exclusaoRepository.save(Exclusao.builder()
+                .idUsuario(transacao.getUsuario().getId())
+                .recurso(RecursoSincronizado.TRANSACAO)
+                .idRecurso(transacao.getId())
+                .dataExclusao(LocalDateTime.now())
+                .idCategoria(transacao.getCategoria().getId())
+                .dataTransacao(transacao.getData())
+                .build());
+    }
+
+    @Transactional
+    public void registrarConta(Conta conta) {
+        exclusaoRepository.registrarTransacoesDaConta(conta.getId(), LocalDateTime.now());
+        registrar(conta.getUsuario().getId(), RecursoSincronizado.CONTA, conta.getId());
+    }
+
+    @Transactional
+    public void registrarCategoria(Categoria categoria) {
+        LocalDateTime agora = LocalDateTime.now();
+        exclusaoRepository.registrarTransacoesDaCategoria(categoria.getId(), agora);
+        exclusaoRepository.registrarOrcamentosDaCategoria(categoria.getId(), agora);
+        registrar(categoria.getUsuario().getId(), RecursoSincronizado.CATEGORIA, categoria.getId());
+    }
+
+    @Transactional
+    public int removerAnteriores(LocalDateTime limite) {
+        return exclusaoRepository.deleteAnteriores(limite);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.repository.OrcamentoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Orçamentos sem despesas no período não aparecem no mapa
+@Service
+@RequiredArgsConstructor
+public class GastoOrcamentoService {
+
+    private final OrcamentoRepository orcamentoRepository;
+
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> calcularGastos(Long idUsuario) {
+        return toMap(orcamentoRepository.sumValorGastoPorOrcamento(idUsuario, TipoTransacao.DESPESA));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> calcularGastosNoPeriodo(Long idUsuario, LocalDate inicio, LocalDate fim) {
+        return toMap(orcamentoRepository.sumValorGastoPorOrcamentoNoPeriodo(
+                idUsuario, inicio, fim, TipoTransacao.DESPESA));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> calcularGastosDosOrcamentos(Collection<Long> idsOrcamentos) {
+        if (idsOrcamentos.isEmpty()) return Map.of();
+        return toMap(orcamentoRepository.sumValorGastoPorOrcamentoIds(idsOrcamentos, TipoTransacao.DESPESA));
+    }
+
+    private Map<Long, BigDecimal> toMap(List<Object[]> rows) {
+        Map<Long, BigDecimal> gastos = new HashMap<>();
+        for (Object[] row : rows) {
+            gastos.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        return gastos;
+    }
+}
@@ -0,0 +1,296 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
+import br.com.ufape.spendfy.component.LeitorExtrato;
+import br.com.ufape.spendfy.dto.transacao.EventoImportacao;
+import br.com.ufape.spendfy.dto.transacao.ImportacaoExtratoRequest;
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.FormatoExtrato;
+import br.com.ufape.spendfy.entity.enums.RecorrenciaTransacao;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import br.com.ufape.spendfy.exception.BusinessException;
+import br.com.ufape.spendfy.exception.LinhaExtratoInvalidaException;
+import br.com.ufape.spendfy.exception.ResourceNotFoundException;
+import br.com.ufape.spendfy.repository.CategoriaRepository;
+import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Importação de extratos em fluxo: o arquivo é lido um lançamento por vez e gravado em lotes,
+// cada lote na sua própria transação, com um UPDATE de saldo e um acúmulo de resumo por lote.
+// Não é @Transactional de propósito: um lote gravado continua gravado se um lote seguinte falhar
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportacaoExtratoService {
+
+    private final TransacaoRepository transacaoRepository;
+    private final ContaRepository contaRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final AuthenticatedUserResolver userResolver;
+    private final SaldoContaService saldoContaService;
+    private final ResumoMensalService resumoMensalService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${importacao.max-erros-reportados:1000}")
+    private int maxErrosReportados;
+
+    // Tudo o que pode recusar a importação inteira (conta, categoria, formato, colunas) é conferido aqui,
+    // antes do primeiro byte da resposta, para sair como erro HTTP; daí em diante os erros vão no NDJSON
+    public Importacao preparar(InputStream conteudo, String nomeArquivo, ImportacaoExtratoRequest request)
+            throws IOException {
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+
+        Conta conta = contaRepository.findById(request.getIdConta())
+                .orElseThrow(() -> new ResourceNotFoundException("Conta", "id", request.getIdConta()));
+        if (!conta.getUsuario().getId().equals(usuario.getId())) {
+            throw new BusinessException("Conta não pertence ao usuário autenticado");
+        }
+
+        Categoria categoriaPadrao = categoriaRepository.findById(request.getIdCategoria())
+                .orElseThrow(() -> new ResourceNotFoundException("Categoria", "id", request.getIdCategoria()));
+        if (!categoriaPadrao.getUsuario().getId().equals(usuario.getId())) {
+            throw new BusinessException("Categoria não pertence ao usuário autenticado");
+        }
+
+        Map<String, Categoria> categoriasPorNome = new HashMap<>();
+        if (request.getColunaCategoria() != null && !request.getColunaCategoria().isBlank()) {
+            for (Categoria categoria : categoriaRepository.findByUsuarioId(usuario.getId())) {
+                categoriasPorNome.putIfAbsent(LeitorExtrato.normalizar(categoria.getNome()), categoria);
+            }
+        }
+
+        FormatoExtrato formato = formato(request.getFormato(), nomeArquivo);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(conteudo, charset(request.getCharset())));
+        return new Importacao(LeitorExtrato.abrir(reader, formato, request), usuario, conta, categoriaPadrao,
+                categoriasPorNome);
+    }
+
+    public void executar(Importacao importacao, OutputStream saida) throws IOException {
+        LeitorExtrato leitor = importacao.leitor();
+        Usuario usuario = importacao.usuario();
+        Conta conta = importacao.conta();
+
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Relatorio relatorio = new Relatorio(gerador, objectMapper.writerFor(EventoImportacao.class));
+
+            // Saldo corrente da importação: uma despesa acima dele é recusada, como na criação avulsa
+            BigDecimal saldo = conta.getSaldoAtual();
+            List<Transacao> lote = new ArrayList<>(tamanhoLote);
+            long primeiraLinhaDoLote = 0;
+
+            while (true) {
+                LeitorExtrato.Lancamento lancamento;
+                try {
+                    lancamento = leitor.proximo();
+                } catch (LinhaExtratoInvalidaException e) {
+                    relatorio.lidas++;
+                    relatorio.erro(e.getLinha(), e.getMessage());
+                    continue;
+                }
+                if (lancamento == null) {
+                    break;
+                }
+                relatorio.lidas++;
+
+                if (TipoTransacao.DESPESA.equals(lancamento.tipo()) && lancamento.valor().compareTo(saldo) > 0) {
+                    relatorio.erro(lancamento.linha(), "Saldo insuficiente na conta " + conta.getNome() +
+                                                       ". Saldo disponível: R$ " + saldo);
+                    continue;
+                }
+
+                Transacao transacao = novaTransacao(lancamento, usuario, conta,
+                        categoria(lancamento.categoria(), importacao.categoriasPorNome(), importacao.categoriaPadrao()));
+                saldo = saldo.add(transacao.efeitoNoSaldo());
+                if (lote.isEmpty()) {
+                    primeiraLinhaDoLote = lancamento.linha();
+                }
+                lote.add(transacao);
+
+                if (lote.size() == tamanhoLote) {
+                    if (!gravar(lote, usuario.getId(), primeiraLinhaDoLote, relatorio)) {
+                        return;
+                    }
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty() && !gravar(lote, usuario.getId(), primeiraLinhaDoLote, relatorio)) {
+                return;
+            }
+            relatorio.fim(EventoImportacao.Tipo.CONCLUIDO, null, null);
+        }
+    }
+
+    // Grava o lote numa transação própria e limpa o contexto de persistência para a memória não crescer
+    // com o arquivo; se falhar, o lote volta inteiro e a importação para com um evento FALHA
+    private boolean gravar(List<Transacao> lote, Long idUsuario, long primeiraLinha, Relatorio relatorio)
+            throws IOException {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                transacaoRepository.saveAll(lote);
+                // Tira as transações do contexto antes dos UPDATEs de saldo e resumo: cada UPDATE dispara um
+                // auto-flush, que de outra forma conferiria o lote inteiro a cada categoria e mês acumulados
+                entityManager.flush();
+                entityManager.clear();
+                saldoContaService.aplicarLote(lote);
+                resumoMensalService.registrarLote(lote);
+                eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(idUsuario));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar lote da importação a partir da linha {}", primeiraLinha, e);
+            relatorio.fim(EventoImportacao.Tipo.FALHA, primeiraLinha,
+                    "Falha ao gravar o lote iniciado na linha " + primeiraLinha + "; nada a partir dele foi importado");
+            return false;
+        }
+        relatorio.importadas += lote.size();
+        relatorio.progresso();
+        return true;
+    }
+
+    private static Categoria categoria(String nome, Map<String, Categoria> categoriasPorNome, Categoria padrao) {
+        if (nome == null || nome.isBlank()) {
+            return padrao;
+        }
+        return categoriasPorNome.getOrDefault(LeitorExtrato.normalizar(nome), padrao);
+    }
+
+    private static Transacao novaTransacao(LeitorExtrato.Lancamento lancamento, Usuario usuario, Conta conta,
+                                           Categoria categoria) {
+        return Transacao.builder()
+                .tipo(lancamento.tipo())
+                .data(lancamento.data())
+                .valor(lancamento.valor())
+                .descricao(lancamento.descricao())
+                .status(StatusTransacao.CONFIRMADA)
+                .recorrencia(RecorrenciaTransacao.NENHUMA)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build();
+    }
+
+    private static FormatoExtrato formato(FormatoExtrato informado, String nomeArquivo) {
+        if (informado != null) {
+            return informado;
+        }
+        String nome = nomeArquivo == null ? "" : nomeArquivo.toLowerCase();
+        if (nome.endsWith(".ofx")) {
+            return FormatoExtrato.OFX;
+        }
+        if (nome.endsWith(".csv") || nome.endsWith(".txt")) {
+            return FormatoExtrato.CSV;
+        }
+        throw new BusinessException("Formato do arquivo não reconhecido; informe formato=CSV ou formato=OFX");
+    }
+
+    private static Charset charset(String nome) {
+        try {
+            return nome == null || nome.isBlank() ? StandardCharsets.UTF_8 : Charset.forName(nome.trim());
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new BusinessException("Charset não suportado: " + nome);
+        }
+    }
+
+    // Arquivo aberto e configuração já validada, entre preparar e executar
+    public record Importacao(LeitorExtrato leitor, Usuario usuario, Conta conta, Categoria categoriaPadrao,
+                             Map<String, Categoria> categoriasPorNome) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            leitor.close();
+        }
+    }
+
+    // Contagem e escrita dos eventos; só os primeiros erros são detalhados, os demais entram em errosOmitidos
+    private final class Relatorio {
+
+        private final JsonGenerator gerador;
+        private final ObjectWriter writer;
+        private long lidas;
+        private long importadas;
+        private long rejeitadas;
+
+        private Relatorio(JsonGenerator gerador, ObjectWriter writer) {
+            this.gerador = gerador;
+            this.writer = writer;
+        }
+
+        private void erro(long linha, String mensagem) throws IOException {
+            rejeitadas++;
+            if (rejeitadas <= maxErrosReportados) {
+                escrever(EventoImportacao.builder()
+                        .evento(EventoImportacao.Tipo.ERRO)
+                        .linha(linha)
+                        .mensagem(mensagem)
+                        .build());
+            }
+        }
+
+        private void progresso() throws IOException {
+            escrever(contagem(EventoImportacao.Tipo.PROGRESSO).build());
+            gerador.flush();
+        }
+
+        private void fim(EventoImportacao.Tipo evento, Long linha, String mensagem) throws IOException {
+            escrever(contagem(evento)
+                    .linha(linha)
+                    .mensagem(mensagem)
+                    .errosOmitidos(Math.max(0, rejeitadas - maxErrosReportados))
+                    .build());
+            gerador.flush();
+        }
+
+        private EventoImportacao.EventoImportacaoBuilder contagem(EventoImportacao.Tipo evento) {
+            return EventoImportacao.builder()
+                    .evento(evento)
+                    .linhasLidas(lidas)
+                    .importadas(importadas)
+                    .rejeitadas(rejeitadas);
+        }
+
+        private void escrever(EventoImportacao evento) throws IOException {
+            writer.writeValue(gerador, evento);
+            gerador.writeRaw('\n');
+        }
+    }
+}
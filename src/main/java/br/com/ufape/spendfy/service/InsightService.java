@@ -1,15 +1,15 @@
 package br.com.ufape.spendfy.service;
 
 import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
+import br.com.ufape.spendfy.dto.insight.FluxoMensalResponse;
 import br.com.ufape.spendfy.dto.insight.InsightMensalResponse;
 import br.com.ufape.spendfy.dto.insight.PrevisaoGastoResponse;
 import br.com.ufape.spendfy.dto.insight.ScoreResponse;
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoResponse;
-import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.ResumoMensal;
 import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.TipoTransacao;
-import br.com.ufape.spendfy.repository.CategoriaRepository;
-import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,45 +17,58 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class InsightService {
 
+    private static final int MESES_HISTORICO = 3;
+    private static final int MESES_SALDO_POSITIVO = 3;
+    private static final int MAXIMO_MESES_FLUXO = 60;
+
     private final AuthenticatedUserResolver userResolver;
-    private final TransacaoRepository transacaoRepository;
-    private final CategoriaRepository categoriaRepository;
+    private final ResumoMensalService resumoMensalService;
     private final OrcamentoService orcamentoService;
     private final ClaudeApiService claudeApiService;
 
     @Transactional(readOnly = true)
     public List<PrevisaoGastoResponse> getPrevisaoGastos() {
         Usuario usuario = userResolver.getUsuarioAutenticado();
-        List<Categoria> categorias = categoriaRepository.findByUsuarioId(usuario.getId());
+        YearMonth mesAtual = YearMonth.now();
 
-        LocalDate hoje = LocalDate.now();
-        LocalDate inicioMesAtual = hoje.withDayOfMonth(1);
-        LocalDate fimMesAtual = hoje.withDayOfMonth(hoje.lengthOfMonth());
+        // Gastos em centavos por categoria; a posição i guarda o mês de i meses atrás
+        Map<Long, long[]> gastosPorCategoria = new LinkedHashMap<>();
+        Map<Long, String> nomesCategorias = new HashMap<>();
+
+        for (Object[] row : resumoMensalService.totaisPorCategoriaEMes(usuario.getId(), TipoTransacao.DESPESA,
+                mesAtual.minusMonths(MESES_HISTORICO), mesAtual)) {
+            Long idCategoria = (Long) row[0];
+            int mesesAtras = (int) ResumoMensal.toYearMonth((Integer) row[2]).until(mesAtual, ChronoUnit.MONTHS);
+
+            nomesCategorias.put(idCategoria, (String) row[1]);
+            gastosPorCategoria.computeIfAbsent(idCategoria, id -> new long[MESES_HISTORICO + 1])[mesesAtras] =
+                    ((BigDecimal) row[3]).movePointRight(2).longValue();
+        }
 
         List<PrevisaoGastoResponse> previsoes = new ArrayList<>();
 
-        for (Categoria categoria : categorias) {
-            BigDecimal mediaMensal = calcularMediaMensal(usuario.getId(), categoria.getId(), hoje);
+        for (Map.Entry<Long, long[]> entry : gastosPorCategoria.entrySet()) {
+            long[] gastos = entry.getValue();
+            BigDecimal mediaMensal = calcularMediaMensal(gastos);
             if (mediaMensal.compareTo(BigDecimal.ZERO) == 0) continue;
 
-            BigDecimal gastoAtualMes = Objects.requireNonNullElse(
-                    transacaoRepository.sumValorByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
-                            usuario.getId(), categoria.getId(), TipoTransacao.DESPESA,
-                            inicioMesAtual, fimMesAtual),
-                    BigDecimal.ZERO);
+            BigDecimal gastoAtualMes = BigDecimal.valueOf(gastos[0], 2);
 
             previsoes.add(PrevisaoGastoResponse.builder()
-                    .idCategoria(categoria.getId())
-                    .nomeCategoria(categoria.getNome())
+                    .idCategoria(entry.getKey())
+                    .nomeCategoria(nomesCategorias.get(entry.getKey()))
                     .mediaMensal(mediaMensal)
                     .previsaoMesAtual(mediaMensal)
                     .gastoAtualMes(gastoAtualMes)
@@ -67,26 +80,31 @@ public class InsightService {
         return previsoes;
     }
 
+    @Transactional(readOnly = true)
+    public List<FluxoMensalResponse> getFluxoMensal(int meses) {
+        if (meses < 1 || meses > MAXIMO_MESES_FLUXO) {
+            throw new BusinessException("A quantidade de meses deve estar entre 1 e " + MAXIMO_MESES_FLUXO);
+        }
+
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        YearMonth mesAtual = YearMonth.now();
+        return resumoMensalService.fluxoMensal(usuario.getId(), mesAtual.minusMonths(meses - 1), mesAtual);
+    }
+
     @Transactional(readOnly = true)
     public ScoreResponse calcularScore() {
         Usuario usuario = userResolver.getUsuarioAutenticado();
 
-        LocalDate hoje = LocalDate.now();
-        LocalDate inicioMes = hoje.withDayOfMonth(1);
-        LocalDate fimMes = hoje.withDayOfMonth(hoje.lengthOfMonth());
-
-        BigDecimal receitas = Objects.requireNonNullElse(
-                transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                        usuario.getId(), TipoTransacao.RECEITA, inicioMes, fimMes),
-                BigDecimal.ZERO);
-        BigDecimal despesas = Objects.requireNonNullElse(
-                transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                        usuario.getId(), TipoTransacao.DESPESA, inicioMes, fimMes),
-                BigDecimal.ZERO);
-
-        List<OrcamentoResponse> orcamentos = orcamentoService.listarTodos().stream()
-                .filter(o -> !o.getDataFim().isBefore(inicioMes) && !o.getDataInicio().isAfter(fimMes))
-                .collect(Collectors.toList());
+        YearMonth mesAtual = YearMonth.now();
+        LocalDate inicioMes = mesAtual.atDay(1);
+        LocalDate fimMes = mesAtual.atEndOfMonth();
+
+        List<FluxoMensalResponse> fluxo = fluxoDoScore(usuario.getId(), mesAtual);
+        FluxoMensalResponse fluxoAtual = fluxo.get(fluxo.size() - 1);
+        BigDecimal receitas = fluxoAtual.getReceitas();
+        BigDecimal despesas = fluxoAtual.getDespesas();
+
+        List<OrcamentoResponse> orcamentos = orcamentoService.listarNoPeriodo(usuario.getId(), inicioMes, fimMes);
 
         List<String> positivos = new ArrayList<>();
         List<String> negativos = new ArrayList<>();
@@ -129,7 +147,7 @@ public class InsightService {
 
         // Critério 3: Saldo positivo (30 pontos)
         if (despesas.compareTo(BigDecimal.ZERO) > 0) {
-            long mesesComSaldo = contarMesesComSaldoPositivo(usuario.getId(), hoje);
+            long mesesComSaldo = contarMesesComSaldoPositivo(fluxo);
             int pontosHistorico = (int) Math.min(30, mesesComSaldo * 10);
             score += pontosHistorico;
             if (mesesComSaldo >= 2) {
@@ -157,17 +175,11 @@ public class InsightService {
         List<PrevisaoGastoResponse> previsoes = getPrevisaoGastos();
 
         LocalDate hoje = LocalDate.now();
-        LocalDate inicioMes = hoje.withDayOfMonth(1);
-        LocalDate fimMes = hoje.withDayOfMonth(hoje.lengthOfMonth());
-
-        BigDecimal receitas = Objects.requireNonNullElse(
-                transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                        usuario.getId(), TipoTransacao.RECEITA, inicioMes, fimMes),
-                BigDecimal.ZERO);
-        BigDecimal despesas = Objects.requireNonNullElse(
-                transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                        usuario.getId(), TipoTransacao.DESPESA, inicioMes, fimMes),
-                BigDecimal.ZERO);
+        YearMonth mesAtual = YearMonth.from(hoje);
+
+        List<FluxoMensalResponse> fluxo = fluxoDoScore(usuario.getId(), mesAtual);
+        BigDecimal receitas = fluxo.get(fluxo.size() - 1).getReceitas();
+        BigDecimal despesas = fluxo.get(fluxo.size() - 1).getDespesas();
 
         String topCategoria = previsoes.isEmpty() ? "nenhuma" : previsoes.get(0).getNomeCategoria();
         BigDecimal topGasto = previsoes.isEmpty() ? BigDecimal.ZERO : previsoes.get(0).getGastoAtualMes();
@@ -214,47 +226,31 @@ public class InsightService {
                 .build();
     }
 
-    private BigDecimal calcularMediaMensal(Long idUsuario, Long idCategoria, LocalDate hoje) {
-        BigDecimal total = BigDecimal.ZERO;
-        int mesesComDados = 0;
+    // Média ponderada dos últimos meses: o mais recente pesa 3, o anterior 2 e o mais antigo 1
+    private BigDecimal calcularMediaMensal(long[] gastosEmCentavos) {
+        long total = 0;
+        int pesos = 0;
 
-        for (int i = 1; i <= 3; i++) {
-            LocalDate mesRef = hoje.minusMonths(i);
-            LocalDate inicio = mesRef.withDayOfMonth(1);
-            LocalDate fim = mesRef.withDayOfMonth(mesRef.lengthOfMonth());
-
-            BigDecimal gasto = transacaoRepository.sumValorByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
-                    idUsuario, idCategoria, TipoTransacao.DESPESA, inicio, fim);
-
-            if (gasto != null && gasto.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal peso = BigDecimal.valueOf(4 - i);
-                total = total.add(gasto.multiply(peso));
-                mesesComDados += (4 - i);
+        for (int i = 1; i <= MESES_HISTORICO; i++) {
+            if (gastosEmCentavos[i] > 0) {
+                int peso = MESES_HISTORICO + 1 - i;
+                total += gastosEmCentavos[i] * peso;
+                pesos += peso;
             }
         }
 
-        if (mesesComDados == 0) return BigDecimal.ZERO;
-        return total.divide(BigDecimal.valueOf(mesesComDados), 2, RoundingMode.HALF_UP);
+        if (pesos == 0) return BigDecimal.ZERO;
+        return BigDecimal.valueOf(total, 2).divide(BigDecimal.valueOf(pesos), 2, RoundingMode.HALF_UP);
     }
 
-    private long contarMesesComSaldoPositivo(Long idUsuario, LocalDate hoje) {
-        long meses = 0;
-        for (int i = 0; i < 3; i++) {
-            LocalDate mesRef = hoje.minusMonths(i);
-            LocalDate inicio = mesRef.withDayOfMonth(1);
-            LocalDate fim = mesRef.withDayOfMonth(mesRef.lengthOfMonth());
-
-            BigDecimal rec = Objects.requireNonNullElse(
-                    transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                            idUsuario, TipoTransacao.RECEITA, inicio, fim),
-                    BigDecimal.ZERO);
-            BigDecimal des = Objects.requireNonNullElse(
-                    transacaoRepository.sumValorByUsuarioIdAndTipoAndPeriodo(
-                            idUsuario, TipoTransacao.DESPESA, inicio, fim),
-                    BigDecimal.ZERO);
-
-            if (rec.compareTo(des) > 0) meses++;
-        }
-        return meses;
+    // Mês atual e os dois anteriores, em ordem cronológica
+    private List<FluxoMensalResponse> fluxoDoScore(Long idUsuario, YearMonth mesAtual) {
+        return resumoMensalService.fluxoMensal(idUsuario, mesAtual.minusMonths(MESES_SALDO_POSITIVO - 1), mesAtual);
+    }
+
+    private long contarMesesComSaldoPositivo(List<FluxoMensalResponse> fluxo) {
+        return fluxo.stream()
+                .filter(mes -> mes.getReceitas().compareTo(mes.getDespesas()) > 0)
+                .count();
     }
 }
@@ -1,6 +1,10 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.TokenClaims;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -12,24 +16,35 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private static final String CLAIM_ID_USUARIO = "uid";
+    private static final String CLAIM_STATUS = "status";
+    private static final String CLAIM_VERSAO = "ver";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    // Chave e parser são imutáveis e thread-safe, então são montados uma única vez
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long jwtExpiration
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String generateToken(Usuario usuario) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ID_USUARIO, usuario.getId());
+        claims.put(CLAIM_STATUS, usuario.getStatus().name());
+        claims.put(CLAIM_VERSAO, usuario.getVersaoToken());
+        return generateToken(claims, usuario);
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -48,37 +63,24 @@ public class JwtService {
         return Jwts
                 .builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Verifica assinatura e expiração uma única vez; lança JwtException se o token for inválido
+    public TokenClaims verificar(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String status = claims.get(CLAIM_STATUS, String.class);
+        return new TokenClaims(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get(CLAIM_ID_USUARIO, Long.class),
+                status != null ? StatusUsuario.valueOf(status) : null,
+                claims.get(CLAIM_VERSAO, Integer.class),
+                claims.getExpiration().toInstant());
     }
 }
@@ -1,24 +1,29 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoRequest;
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoResponse;
+import br.com.ufape.spendfy.dto.orcamento.OrcamentoResumoResponse;
 import br.com.ufape.spendfy.entity.Categoria;
 import br.com.ufape.spendfy.entity.Orcamento;
 import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.RecursoSincronizado;
 import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
 import br.com.ufape.spendfy.exception.BusinessException;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.CategoriaRepository;
 import br.com.ufape.spendfy.repository.OrcamentoRepository;
-import br.com.ufape.spendfy.repository.TransacaoRepository;
-import br.com.ufape.spendfy.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,18 +32,15 @@ public class OrcamentoService {
 
     private final OrcamentoRepository orcamentoRepository;
     private final CategoriaRepository categoriaRepository;
-    private final UsuarioRepository usuarioRepository;
-    private final TransacaoRepository transacaoRepository;
-
-    private Usuario getUsuarioAutenticado() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
-    }
+    private final AuthenticatedUserResolver userResolver;
+    private final ResumoMensalService resumoMensalService;
+    private final GastoOrcamentoService gastoOrcamentoService;
+    private final ExclusaoService exclusaoService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public OrcamentoResponse criar(OrcamentoRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
 
         if (request.getDataFim().isBefore(request.getDataInicio())) {
             throw new BusinessException("Data de fim não pode ser anterior à data de início");
@@ -72,21 +74,77 @@ public class OrcamentoService {
 
         orcamento = orcamentoRepository.save(orcamento);
 
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
         return toResponse(orcamento);
     }
 
     @Transactional(readOnly = true)
     public List<OrcamentoResponse> listarTodos() {
-        Usuario usuario = getUsuarioAutenticado();
-        return orcamentoRepository.findByUsuarioId(usuario.getId())
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        return listarTodos(usuario.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrcamentoResponse> listarTodos(Long idUsuario) {
+        List<Orcamento> orcamentos = orcamentoRepository.findByUsuarioIdComCategoria(idUsuario);
+        if (orcamentos.isEmpty()) return List.of();
+
+        return toResponses(orcamentos, gastoOrcamentoService.calcularGastos(idUsuario));
+    }
+
+    // Orçamentos criados ou alterados depois de desde, ou cujo gasto mudou com transações alteradas ou
+    // excluídas (todos quando desde é nulo), para a sincronização. O gasto é calculado só para os devolvidos
+    @Transactional(readOnly = true)
+    public List<OrcamentoResponse> listarAlteradosDesde(Long idUsuario, LocalDateTime desde) {
+        if (desde == null) return listarTodos(idUsuario);
+
+        List<Orcamento> orcamentos = orcamentoRepository.findByUsuarioIdAlteradosDesde(idUsuario, desde);
+        if (orcamentos.isEmpty()) return List.of();
+
+        return toResponses(orcamentos, gastoOrcamentoService.calcularGastosDosOrcamentos(
+                orcamentos.stream().map(Orcamento::getId).toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrcamentoResponse> listarNoPeriodo(Long idUsuario, LocalDate inicio, LocalDate fim) {
+        List<Orcamento> orcamentos = orcamentoRepository.findByUsuarioIdNoPeriodo(idUsuario, inicio, fim);
+        if (orcamentos.isEmpty()) return List.of();
+
+        return toResponses(orcamentos, gastoOrcamentoService.calcularGastosNoPeriodo(idUsuario, inicio, fim));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrcamentoResponse> listarAtivos(Long idUsuario, LocalDate data) {
+        return listarNoPeriodo(idUsuario, data, data);
+    }
+
+    @Transactional(readOnly = true)
+    public OrcamentoResumoResponse resumir() {
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        List<OrcamentoResponse> orcamentos = listarTodos(usuario.getId());
+
+        BigDecimal totalLimite = BigDecimal.ZERO;
+        BigDecimal totalGasto = BigDecimal.ZERO;
+        long ultrapassados = 0;
+        for (OrcamentoResponse orcamento : orcamentos) {
+            totalLimite = totalLimite.add(orcamento.getValorLimite());
+            totalGasto = totalGasto.add(orcamento.getValorGasto());
+            if (orcamento.getValorRestante().compareTo(BigDecimal.ZERO) < 0) ultrapassados++;
+        }
+
+        return OrcamentoResumoResponse.builder()
+                .totalLimite(totalLimite)
+                .totalGasto(totalGasto)
+                .totalRestante(totalLimite.subtract(totalGasto))
+                .quantidadeUltrapassados(ultrapassados)
+                .orcamentos(orcamentos)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public OrcamentoResponse buscarPorId(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Orcamento orcamento = orcamentoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Orcamento", "id", id));
 
@@ -99,7 +157,7 @@ public class OrcamentoService {
 
     @Transactional
     public OrcamentoResponse atualizar(Long id, OrcamentoRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Orcamento orcamento = orcamentoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Orcamento", "id", id));
 
@@ -138,12 +196,14 @@ public class OrcamentoService {
 
         orcamento = orcamentoRepository.save(orcamento);
 
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
         return toResponse(orcamento);
     }
 
     @Transactional
     public void deletar(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Orcamento orcamento = orcamentoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Orcamento", "id", id));
 
@@ -151,17 +211,29 @@ public class OrcamentoService {
             throw new BusinessException("Orçamento não pertence ao usuário autenticado");
         }
 
+        exclusaoService.registrar(usuario.getId(), RecursoSincronizado.ORCAMENTO, orcamento.getId());
         orcamentoRepository.delete(orcamento);
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
     }
 
     private OrcamentoResponse toResponse(Orcamento orcamento) {
-        BigDecimal valorGasto = transacaoRepository.sumValorByCategoriaAndPeriodoAndTipo(
-                orcamento.getCategoria().getId(),
+        BigDecimal valorGasto = resumoMensalService.totalDaCategoriaNoPeriodo(
                 orcamento.getUsuario().getId(),
+                orcamento.getCategoria().getId(),
+                TipoTransacao.DESPESA,
                 orcamento.getDataInicio(),
-                orcamento.getDataFim(),
-                TipoTransacao.DESPESA
+                orcamento.getDataFim()
         );
+        return toResponse(orcamento, valorGasto);
+    }
+
+    private List<OrcamentoResponse> toResponses(List<Orcamento> orcamentos, Map<Long, BigDecimal> gastos) {
+        return orcamentos.stream()
+                .map(o -> toResponse(o, gastos.getOrDefault(o.getId(), BigDecimal.ZERO)))
+                .collect(Collectors.toList());
+    }
+
+    private OrcamentoResponse toResponse(Orcamento orcamento, BigDecimal valorGasto) {
         BigDecimal valorRestante = orcamento.getValorLimite().subtract(valorGasto);
 
         return OrcamentoResponse.builder()
@@ -0,0 +1,83 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.entity.RefreshToken;
+import br.com.ufape.spendfy.exception.TokenInvalidoException;
+import br.com.ufape.spendfy.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh.expiration}")
+    private long refreshExpiration;
+
+    // Devolve o token em claro uma única vez; no banco fica apenas o hash
+    @Transactional
+    public String emitir(Long idUsuario) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .idUsuario(idUsuario)
+                .tokenHash(hash(token))
+                .expiraEm(Instant.now().plusMillis(refreshExpiration))
+                .build());
+        return token;
+    }
+
+    // Rotação: o token apresentado deixa de valer. Apresentar um token já revogado indica
+    // reuso de um token vazado, então todos os refresh tokens do usuário são revogados
+    @Transactional(noRollbackFor = TokenInvalidoException.class)
+    public Long consumir(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new TokenInvalidoException("Refresh token inválido"));
+
+        if (refreshToken.isRevogado()) {
+            refreshTokenRepository.revogarTodosDoUsuario(refreshToken.getIdUsuario());
+            throw new TokenInvalidoException("Refresh token inválido");
+        }
+        if (refreshToken.getExpiraEm().isBefore(Instant.now())) {
+            throw new TokenInvalidoException("Refresh token expirado");
+        }
+
+        refreshToken.setRevogado(true);
+        return refreshToken.getIdUsuario();
+    }
+
+    @Transactional
+    public void revogar(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(refreshToken -> refreshToken.setRevogado(true));
+    }
+
+    @Transactional
+    public void revogarTodos(Long idUsuario) {
+        refreshTokenRepository.revogarTodosDoUsuario(idUsuario);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.component.AgregadosDaRequisicao;
+import br.com.ufape.spendfy.dto.insight.FluxoMensalResponse;
+import br.com.ufape.spendfy.entity.ResumoMensal;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import br.com.ufape.spendfy.repository.ResumoMensalRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumoMensalService {
+
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final AgregadosDaRequisicao agregadosDaRequisicao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Transactional
+    public void registrar(Transacao transacao) {
+        acumular(transacao.getUsuario().getId(), transacao.getCategoria().getId(), transacao.getTipo(),
+                ResumoMensal.anoMes(transacao.getData()), transacao.getValor(), 1L);
+    }
+
+    // Um acúmulo por categoria, tipo e mês em vez de um por transação
+    @Transactional
+    public void registrarLote(List<Transacao> transacoes) {
+        Map<ChaveResumo, BigDecimal> totais = new LinkedHashMap<>();
+        Map<ChaveResumo, Long> quantidades = new HashMap<>();
+        for (Transacao transacao : transacoes) {
+            ChaveResumo chave = new ChaveResumo(transacao.getUsuario().getId(), transacao.getCategoria().getId(),
+                    transacao.getTipo(), ResumoMensal.anoMes(transacao.getData()));
+            totais.merge(chave, transacao.getValor(), BigDecimal::add);
+            quantidades.merge(chave, 1L, Long::sum);
+        }
+        totais.forEach((chave, total) -> acumular(chave.idUsuario(), chave.idCategoria(), chave.tipo(),
+                chave.anoMes(), total, quantidades.get(chave)));
+    }
+
+    @Transactional
+    public void estornar(Transacao transacao) {
+        acumular(transacao.getUsuario().getId(), transacao.getCategoria().getId(), transacao.getTipo(),
+                ResumoMensal.anoMes(transacao.getData()), transacao.getValor().negate(), -1L);
+    }
+
+    @Transactional
+    public void estornarTransacoesDaConta(Long idConta) {
+        for (Object[] row : transacaoRepository.sumValorPorMesByContaId(idConta)) {
+            acumular((Long) row[0], (Long) row[1], (TipoTransacao) row[2],
+                    (Integer) row[3] * 100 + (Integer) row[4],
+                    ((BigDecimal) row[5]).negate(), -((Long) row[6]));
+        }
+    }
+
+    @Transactional
+    public void removerCategoria(Long idCategoria) {
+        resumoMensalRepository.deleteByIdCategoria(idCategoria);
+        agregadosDaRequisicao.invalidar();
+    }
+
+    @Transactional
+    public int reconstruir(Long idUsuario) {
+        resumoMensalRepository.deleteByIdUsuario(idUsuario);
+        agregadosDaRequisicao.invalidar();
+
+        List<ResumoMensal> resumos = new ArrayList<>();
+        for (Object[] row : transacaoRepository.sumValorPorMesByUsuarioId(idUsuario)) {
+            resumos.add(ResumoMensal.builder()
+                    .idUsuario((Long) row[0])
+                    .idCategoria((Long) row[1])
+                    .tipo((TipoTransacao) row[2])
+                    .anoMes((Integer) row[3] * 100 + (Integer) row[4])
+                    .total((BigDecimal) row[5])
+                    .quantidade((Long) row[6])
+                    .build());
+        }
+
+        resumoMensalRepository.saveAll(resumos);
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(idUsuario));
+        return resumos.size();
+    }
+
+    @Transactional
+    public void reconstruirTodos() {
+        List<Long> idsUsuarios = usuarioRepository.findAllIds();
+        log.info("Reconstruindo resumos mensais de {} usuário(s)", idsUsuarios.size());
+
+        for (Long idUsuario : idsUsuarios) {
+            reconstruir(idUsuario);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal totalDaCategoriaNoMes(Long idUsuario, Long idCategoria, TipoTransacao tipo, YearMonth mes) {
+        return totalDaCategoriaNoPeriodo(idUsuario, idCategoria, tipo, mes.atDay(1), mes.atEndOfMonth());
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal totalDaCategoriaNoPeriodo(Long idUsuario, Long idCategoria, TipoTransacao tipo,
+                                                LocalDate dataInicio, LocalDate dataFim) {
+        return agregadosDaRequisicao.obter(new ChaveTotalCategoria(idUsuario, idCategoria, tipo, dataInicio, dataFim),
+                () -> consultarTotalDaCategoriaNoPeriodo(idUsuario, idCategoria, tipo, dataInicio, dataFim));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> totaisPorCategoriaETipoNoMes(Long idUsuario, YearMonth mes) {
+        int anoMes = ResumoMensal.anoMes(mes);
+        return resumoMensalRepository.findTotaisPorCategoriaETipo(idUsuario, anoMes, anoMes);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> totaisPorCategoriaEMes(Long idUsuario, TipoTransacao tipo, YearMonth inicio, YearMonth fim) {
+        return resumoMensalRepository.findTotaisPorCategoriaEMes(
+                idUsuario, tipo, ResumoMensal.anoMes(inicio), ResumoMensal.anoMes(fim));
+    }
+
+    // Um item por mês do intervalo, em ordem cronológica, inclusive meses sem movimentação
+    @Transactional(readOnly = true)
+    public List<FluxoMensalResponse> fluxoMensal(Long idUsuario, YearMonth inicio, YearMonth fim) {
+        return agregadosDaRequisicao.obter(new ChaveFluxo(idUsuario, inicio, fim),
+                () -> consultarFluxoMensal(idUsuario, inicio, fim));
+    }
+
+    private List<FluxoMensalResponse> consultarFluxoMensal(Long idUsuario, YearMonth inicio, YearMonth fim) {
+        Map<Integer, BigDecimal[]> totaisPorMes = new HashMap<>();
+        for (Object[] row : resumoMensalRepository.findTotaisPorMesETipo(
+                idUsuario, ResumoMensal.anoMes(inicio), ResumoMensal.anoMes(fim))) {
+            BigDecimal[] totais = totaisPorMes.computeIfAbsent((Integer) row[0],
+                    anoMes -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            totais[row[1] == TipoTransacao.RECEITA ? 0 : 1] = (BigDecimal) row[2];
+        }
+
+        List<FluxoMensalResponse> fluxo = new ArrayList<>();
+        for (YearMonth mes = inicio; !mes.isAfter(fim); mes = mes.plusMonths(1)) {
+            BigDecimal[] totais = totaisPorMes.getOrDefault(ResumoMensal.anoMes(mes),
+                    new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            fluxo.add(FluxoMensalResponse.builder()
+                    .mes(mes)
+                    .receitas(totais[0])
+                    .despesas(totais[1])
+                    .saldo(totais[0].subtract(totais[1]))
+                    .build());
+        }
+        return fluxo;
+    }
+
+    private BigDecimal consultarTotalDaCategoriaNoPeriodo(Long idUsuario, Long idCategoria, TipoTransacao tipo,
+                                                          LocalDate dataInicio, LocalDate dataFim) {
+        // Períodos que não cobrem meses inteiros não podem ser respondidos pelo resumo
+        boolean mesesCompletos = dataInicio.getDayOfMonth() == 1
+                && dataFim.getDayOfMonth() == dataFim.lengthOfMonth();
+
+        BigDecimal total = mesesCompletos
+                ? resumoMensalRepository.sumTotalByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
+                        idUsuario, idCategoria, tipo, ResumoMensal.anoMes(dataInicio), ResumoMensal.anoMes(dataFim))
+                : transacaoRepository.sumValorByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
+                        idUsuario, idCategoria, tipo, dataInicio, dataFim);
+
+        return Objects.requireNonNullElse(total, BigDecimal.ZERO);
+    }
+
+    private void acumular(Long idUsuario, Long idCategoria, TipoTransacao tipo, Integer anoMes,
+                          BigDecimal valor, Long quantidade) {
+        agregadosDaRequisicao.invalidar();
+
+        if (quantidade >= 0) {
+            resumoMensalRepository.inserirOuAcumular(idUsuario, idCategoria, tipo, anoMes, valor, quantidade);
+            return;
+        }
+
+        // Estorno sem resumo a descontar: os totais do usuário já estão errados e são refeitos das transações
+        if (resumoMensalRepository.acumular(idUsuario, idCategoria, tipo, anoMes, valor, quantidade) == 0) {
+            log.warn("Resumo mensal ausente ao estornar (usuario={}, categoria={}, tipo={}, anoMes={}); reconstruindo",
+                    idUsuario, idCategoria, tipo, anoMes);
+            reconstruirAposCommit(idUsuario);
+        }
+    }
+
+    // Só depois do commit as transações refletem a exclusão ou alteração que originou o estorno
+    private void reconstruirAposCommit(Long idUsuario) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reconstruir(idUsuario);
+            return;
+        }
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacao instanceof ReconstrucaoAposCommit reconstrucao) {
+                reconstrucao.idsUsuarios.add(idUsuario);
+                return;
+            }
+        }
+        ReconstrucaoAposCommit reconstrucao = new ReconstrucaoAposCommit();
+        reconstrucao.idsUsuarios.add(idUsuario);
+        TransactionSynchronizationManager.registerSynchronization(reconstrucao);
+    }
+
+    private final class ReconstrucaoAposCommit implements TransactionSynchronization {
+
+        private final Set<Long> idsUsuarios = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            for (Long idUsuario : idsUsuarios) {
+                transactionTemplate.executeWithoutResult(status -> reconstruir(idUsuario));
+            }
+        }
+    }
+
+    private record ChaveResumo(Long idUsuario, Long idCategoria, TipoTransacao tipo, Integer anoMes) {
+    }
+
+    private record ChaveFluxo(Long idUsuario, YearMonth inicio, YearMonth fim) {
+    }
+
+    private record ChaveTotalCategoria(Long idUsuario, Long idCategoria, TipoTransacao tipo,
+                                       LocalDate dataInicio, LocalDate dataFim) {
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.ufape.spendfy.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SaldoContaReconciliacaoScheduler {
+
+    private final SaldoContaService saldoContaService;
+
+    @Scheduled(cron = "0 0 3 * * *")
+    public void reconciliarSaldos() {
+        log.info("Iniciando reconciliação dos saldos das contas");
+        int divergentes = saldoContaService.reconciliar();
+        log.info("Reconciliação concluída: {} conta(s) corrigida(s)", divergentes);
+    }
+}
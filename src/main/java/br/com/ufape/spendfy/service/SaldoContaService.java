@@ -0,0 +1,94 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SaldoContaService {
+
+    private final ContaRepository contaRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void aplicar(Transacao transacao) {
+        ajustarSaldo(transacao.getConta(), transacao.efeitoNoSaldo());
+    }
+
+    @Transactional
+    public void estornar(Transacao transacao) {
+        ajustarSaldo(transacao.getConta(), transacao.efeitoNoSaldo().negate());
+    }
+
+    // Um UPDATE por conta com o efeito somado das transações
+    @Transactional
+    public void aplicarLote(List<Transacao> transacoes) {
+        Map<Long, Conta> contas = new LinkedHashMap<>();
+        Map<Long, BigDecimal> efeitoPorConta = new HashMap<>();
+        for (Transacao transacao : transacoes) {
+            contas.putIfAbsent(transacao.getConta().getId(), transacao.getConta());
+            efeitoPorConta.merge(transacao.getConta().getId(), transacao.efeitoNoSaldo(), BigDecimal::add);
+        }
+        contas.forEach((id, conta) -> ajustarSaldo(conta, efeitoPorConta.get(id)));
+    }
+
+    @Transactional
+    public void estornarTransacoesDaCategoria(Long idCategoria) {
+        List<Object[]> rows = transacaoRepository.sumEfeitoNoSaldoPorContaByCategoriaId(
+                idCategoria, TipoTransacao.RECEITA);
+
+        for (Object[] row : rows) {
+            contaRepository.adicionarAoSaldo((Long) row[0], ((BigDecimal) row[1]).negate());
+        }
+    }
+
+    @Transactional
+    public int reconciliar() {
+        Map<Long, BigDecimal> movimentacaoPorConta = new HashMap<>();
+        for (Object[] row : transacaoRepository.sumEfeitoNoSaldoPorConta(TipoTransacao.RECEITA)) {
+            movimentacaoPorConta.put((Long) row[0], (BigDecimal) row[1]);
+        }
+
+        int divergentes = 0;
+        for (Conta conta : contaRepository.findAll()) {
+            BigDecimal recalculado = conta.getSaldoInicial()
+                    .add(movimentacaoPorConta.getOrDefault(conta.getId(), BigDecimal.ZERO));
+
+            if (conta.getSaldoAtual() == null || conta.getSaldoAtual().compareTo(recalculado) != 0) {
+                log.warn("Divergência no saldo da conta {}: persistido={}, recalculado={}",
+                        conta.getId(), conta.getSaldoAtual(), recalculado);
+                contaRepository.definirSaldo(conta.getId(), recalculado);
+                eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(conta.getUsuario().getId()));
+                divergentes++;
+            }
+        }
+        return divergentes;
+    }
+
+    private void ajustarSaldo(Conta conta, BigDecimal valor) {
+        contaRepository.adicionarAoSaldo(conta.getId(), valor);
+
+        // Mantém a instância já carregada coerente com o UPDATE atômico
+        if (Hibernate.isInitialized(conta) && conta.getSaldoAtual() != null) {
+            conta.setSaldoAtual(conta.getSaldoAtual().add(valor));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
+import br.com.ufape.spendfy.dto.orcamento.OrcamentoResponse;
+import br.com.ufape.spendfy.dto.sincronizacao.ExclusoesResponse;
+import br.com.ufape.spendfy.dto.sincronizacao.SincronizacaoResponse;
+import br.com.ufape.spendfy.dto.sincronizacao.TokenSincronizacao;
+import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
+import br.com.ufape.spendfy.entity.enums.RecursoSincronizado;
+import br.com.ufape.spendfy.repository.ExclusaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Sincronização incremental para clientes offline: devolve só o que mudou desde o token anterior,
+// pela data de atualização de cada registro e pelo registro de exclusões
+@Service
+@RequiredArgsConstructor
+public class SincronizacaoService {
+
+    private final AuthenticatedUserResolver userResolver;
+    private final TransacaoService transacaoService;
+    private final ContaService contaService;
+    private final CategoriaService categoriaService;
+    private final OrcamentoService orcamentoService;
+    private final ExclusaoRepository exclusaoRepository;
+
+    // Alterações gravadas por transações ainda abertas recebem data anterior ao commit;
+    // o próximo token recua essa margem para não perdê-las (os clientes recebem alguns registros repetidos)
+    @Value("${sync.margem:1m}")
+    private Duration margem;
+
+    @Value("${sync.retencao-exclusoes:90d}")
+    private Duration retencaoExclusoes;
+
+    @Transactional(readOnly = true)
+    public SincronizacaoResponse sincronizar(String token) {
+        Long idUsuario = userResolver.getUsuarioAutenticado().getId();
+        LocalDateTime agora = LocalDateTime.now();
+
+        LocalDateTime desde = token == null || token.isBlank() ? null : TokenSincronizacao.decodificar(token).desde();
+        // Exclusões mais antigas que a retenção já foram apagadas: o cliente precisa de uma cópia completa
+        if (desde != null && desde.isBefore(agora.minus(retencaoExclusoes))) {
+            desde = null;
+        }
+        boolean completo = desde == null;
+
+        List<TransacaoResponse> transacoes = transacaoService.listarAlteradasDesde(idUsuario, desde);
+        Map<RecursoSincronizado, List<Long>> excluidos = completo
+                ? new EnumMap<>(RecursoSincronizado.class)
+                : agruparExclusoes(exclusaoRepository.findRecursosExcluidosDesde(idUsuario, desde));
+
+        // Além dos alterados, voltam os orçamentos cujo gasto mudou com as transações alteradas ou excluídas
+        List<OrcamentoResponse> orcamentos = orcamentoService.listarAlteradosDesde(idUsuario, desde);
+
+        return SincronizacaoResponse.builder()
+                .completo(completo)
+                .transacoes(transacoes)
+                .contas(contaService.listarAlteradasDesde(idUsuario, desde))
+                .categorias(categoriaService.listarAlteradasDesde(idUsuario, desde))
+                .orcamentos(orcamentos)
+                .exclusoes(ExclusoesResponse.builder()
+                        .transacoes(excluidos.getOrDefault(RecursoSincronizado.TRANSACAO, List.of()))
+                        .contas(excluidos.getOrDefault(RecursoSincronizado.CONTA, List.of()))
+                        .categorias(excluidos.getOrDefault(RecursoSincronizado.CATEGORIA, List.of()))
+                        .orcamentos(excluidos.getOrDefault(RecursoSincronizado.ORCAMENTO, List.of()))
+                        .build())
+                .proximoToken(new TokenSincronizacao(agora.minus(margem)).codificar())
+                .build();
+    }
+
+    private Map<RecursoSincronizado, List<Long>> agruparExclusoes(List<Object[]> rows) {
+        Map<RecursoSincronizado, List<Long>> excluidos = new EnumMap<>(RecursoSincronizado.class);
+        for (Object[] row : rows) {
+            excluidos.computeIfAbsent((RecursoSincronizado) row[0], r -> new ArrayList<>()).add((Long) row[1]);
+        }
+        return excluidos;
+    }
+}
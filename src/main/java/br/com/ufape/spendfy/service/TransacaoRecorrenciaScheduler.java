@@ -2,9 +2,11 @@ package br.com.ufape.spendfy.service;
 
 import br.com.ufape.spendfy.entity.Transacao;
 import br.com.ufape.spendfy.entity.enums.RecorrenciaTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
 import br.com.ufape.spendfy.repository.TransacaoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +20,9 @@ import java.util.List;
 public class TransacaoRecorrenciaScheduler {
 
     private final TransacaoRepository transacaoRepository;
+    private final SaldoContaService saldoContaService;
+    private final ResumoMensalService resumoMensalService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Scheduled(cron = "0 0 1 * * *")
     @Transactional
@@ -52,6 +57,9 @@ public class TransacaoRecorrenciaScheduler {
                     .build();
 
             transacaoRepository.save(clone);
+            saldoContaService.aplicar(clone);
+            resumoMensalService.registrar(clone);
+            eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(clone.getUsuario().getId()));
 
             proximaData = calcularProxima(proximaData, original.getRecorrencia());
         }
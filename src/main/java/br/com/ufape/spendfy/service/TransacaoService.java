@@ -1,5 +1,12 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
+import br.com.ufape.spendfy.component.ContagemTransacoesCache;
+import br.com.ufape.spendfy.dto.transacao.CursorTransacao;
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.dto.transacao.TransacaoCursorResponse;
+import br.com.ufape.spendfy.dto.transacao.TransacaoFatiaResponse;
+import br.com.ufape.spendfy.dto.transacao.TransacaoLoteRequest;
 import br.com.ufape.spendfy.dto.transacao.TransacaoRequest;
 import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
 import br.com.ufape.spendfy.entity.Categoria;
@@ -9,44 +16,65 @@ import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.RecorrenciaTransacao;
 import br.com.ufape.spendfy.entity.enums.StatusTransacao;
 import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
 import br.com.ufape.spendfy.exception.BusinessException;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.CategoriaRepository;
 import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.OrcamentoRepository;
 import br.com.ufape.spendfy.repository.TransacaoRepository;
-import br.com.ufape.spendfy.repository.UsuarioRepository;
 import br.com.ufape.spendfy.specification.TransacaoSpecification;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransacaoService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final TransacaoRepository transacaoRepository;
     private final ContaRepository contaRepository;
+    private final OrcamentoRepository orcamentoRepository;
     private final CategoriaRepository categoriaRepository;
-    private final UsuarioRepository usuarioRepository;
-
-    private Usuario getUsuarioAutenticado() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
-    }
+    private final AuthenticatedUserResolver userResolver;
+    private final SaldoContaService saldoContaService;
+    private final ResumoMensalService resumoMensalService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContagemTransacoesCache contagemCache;
+    private final ExclusaoService exclusaoService;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public TransacaoResponse criar(TransacaoRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
 
         Conta conta = contaRepository.findById(request.getIdConta())
                 .orElseThrow(() -> new ResourceNotFoundException("Conta", "id", request.getIdConta()));
@@ -56,9 +84,7 @@ public class TransacaoService {
         }
 
         if (TipoTransacao.DESPESA.equals(request.getTipo())) {
-            BigDecimal receitas = transacaoRepository.sumValorByContaIdAndTipo(conta.getId(), TipoTransacao.RECEITA);
-            BigDecimal despesas = transacaoRepository.sumValorByContaIdAndTipo(conta.getId(), TipoTransacao.DESPESA);
-            BigDecimal saldoDisponivel = conta.getSaldoInicial().add(receitas).subtract(despesas);
+            BigDecimal saldoDisponivel = conta.getSaldoAtual();
 
             if (request.getValor().compareTo(saldoDisponivel) > 0) {
                 throw new BusinessException("Saldo insuficiente na conta " + conta.getNome() +
@@ -73,66 +99,190 @@ public class TransacaoService {
             throw new BusinessException("Categoria não pertence ao usuário autenticado");
         }
 
-        RecorrenciaTransacao recorrencia = request.getRecorrencia() != null
-                ? request.getRecorrencia() : RecorrenciaTransacao.NENHUMA;
+        Transacao transacao = transacaoRepository.save(novaTransacao(request, usuario, conta, categoria));
+        registrarEfeitos(transacao);
 
-        LocalDate dataProximaOcorrencia = null;
-        if (recorrencia != RecorrenciaTransacao.NENHUMA) {
-            dataProximaOcorrencia = calcularProximaOcorrencia(request.getData(), recorrencia);
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
+        return toResponse(transacao);
+    }
+
+    // Contas e categorias do lote são carregadas com uma consulta cada, o saldo é conferido uma vez por conta
+    // contra o efeito somado do lote e os INSERTs saem em lotes JDBC (ids por sequência, ver Transacao)
+    @Transactional
+    public List<TransacaoResponse> criarEmLote(TransacaoLoteRequest request) {
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        List<TransacaoRequest> itens = request.getTransacoes();
+
+        Set<Long> idsContas = itens.stream().map(TransacaoRequest::getIdConta).collect(Collectors.toSet());
+        Map<Long, Conta> contas = new HashMap<>();
+        for (Conta conta : contaRepository.findAllById(idsContas)) {
+            if (!conta.getUsuario().getId().equals(usuario.getId())) {
+                throw new BusinessException("Conta não pertence ao usuário autenticado");
+            }
+            contas.put(conta.getId(), conta);
+        }
+        for (Long idConta : idsContas) {
+            if (!contas.containsKey(idConta)) {
+                throw new ResourceNotFoundException("Conta", "id", idConta);
+            }
         }
 
-        Transacao transacao = Transacao.builder()
-                .tipo(request.getTipo())
-                .data(request.getData())
-                .valor(request.getValor())
-                .descricao(request.getDescricao())
-                .observacao(request.getObservacao())
-                .status(request.getStatus())
-                .recorrencia(recorrencia)
-                .dataProximaOcorrencia(dataProximaOcorrencia)
-                .usuario(usuario)
-                .conta(conta)
-                .categoria(categoria)
-                .build();
+        Set<Long> idsCategorias = itens.stream().map(TransacaoRequest::getIdCategoria).collect(Collectors.toSet());
+        Map<Long, Categoria> categorias = new HashMap<>();
+        for (Categoria categoria : categoriaRepository.findAllById(idsCategorias)) {
+            if (!categoria.getUsuario().getId().equals(usuario.getId())) {
+                throw new BusinessException("Categoria não pertence ao usuário autenticado");
+            }
+            categorias.put(categoria.getId(), categoria);
+        }
+        for (Long idCategoria : idsCategorias) {
+            if (!categorias.containsKey(idCategoria)) {
+                throw new ResourceNotFoundException("Categoria", "id", idCategoria);
+            }
+        }
 
-        transacao = transacaoRepository.save(transacao);
+        List<Transacao> transacoes = new ArrayList<>(itens.size());
+        for (TransacaoRequest item : itens) {
+            transacoes.add(novaTransacao(item, usuario, contas.get(item.getIdConta()), categorias.get(item.getIdCategoria())));
+        }
 
-        return toResponse(transacao);
+        Map<Long, BigDecimal> efeitoPorConta = new HashMap<>();
+        Set<Long> contasComDespesa = new HashSet<>();
+        for (Transacao transacao : transacoes) {
+            efeitoPorConta.merge(transacao.getConta().getId(), transacao.efeitoNoSaldo(), BigDecimal::add);
+            if (TipoTransacao.DESPESA.equals(transacao.getTipo())) {
+                contasComDespesa.add(transacao.getConta().getId());
+            }
+        }
+        for (Long idConta : contasComDespesa) {
+            Conta conta = contas.get(idConta);
+            if (conta.getSaldoAtual().add(efeitoPorConta.get(idConta)).signum() < 0) {
+                throw new BusinessException("Saldo insuficiente na conta " + conta.getNome() +
+                                            ". Saldo disponível: R$ " + conta.getSaldoAtual());
+            }
+        }
+
+        transacoes = transacaoRepository.saveAll(transacoes);
+        saldoContaService.aplicarLote(transacoes);
+        resumoMensalService.registrarLote(transacoes);
+
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+
+        return transacoes.stream().map(this::toResponse).collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<TransacaoResponse> listarTodas() {
-        Usuario usuario = getUsuarioAutenticado();
-        return transacaoRepository.findByUsuarioId(usuario.getId())
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        return transacaoRepository.findResponses(TransacaoSpecification.doUsuario(usuario.getId()), Sort.unsorted());
+    }
+
+    // Transações criadas ou alteradas depois de desde (todas quando desde é nulo), para a sincronização
+    @Transactional(readOnly = true)
+    public List<TransacaoResponse> listarAlteradasDesde(Long idUsuario, LocalDateTime desde) {
+        Specification<Transacao> spec = Specification.where(TransacaoSpecification.doUsuario(idUsuario))
+                .and(TransacaoSpecification.atualizadasDesde(desde));
+        return transacaoRepository.findResponses(spec, Sort.by(Sort.Order.asc("id")));
     }
 
     @Transactional(readOnly = true)
     public Page<TransacaoResponse> listarTodas(Pageable pageable) {
-        Usuario usuario = getUsuarioAutenticado();
-        return transacaoRepository.findByUsuarioId(usuario.getId(), pageable)
-                .map(this::toResponse);
+        return listarComFiltros(null, null, null, null, null, null, pageable);
     }
 
+    // O total vem do cache por usuário e filtro, então só a primeira página de cada filtro paga o count(*)
     @Transactional(readOnly = true)
     public Page<TransacaoResponse> listarComFiltros(TipoTransacao tipo, StatusTransacao status,
             Long categoriaId, Long contaId, LocalDate dataInicio, LocalDate dataFim, Pageable pageable) {
-        Usuario usuario = getUsuarioAutenticado();
-        Specification<Transacao> spec = Specification.where(TransacaoSpecification.doUsuario(usuario.getId()))
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        Specification<Transacao> spec = filtros(usuario.getId(), tipo, status, categoriaId, contaId, dataInicio, dataFim);
+        FiltroTransacao filtro = new FiltroTransacao(tipo, status, categoriaId, contaId, dataInicio, dataFim);
+
+        List<TransacaoResponse> conteudo = transacaoRepository.findResponses(spec, pageable).getContent();
+        return PageableExecutionUtils.getPage(conteudo, pageable,
+                () -> contagemCache.obter(usuario.getId(), filtro, () -> transacaoRepository.count(spec)));
+    }
+
+    // Para rolagem infinita: devolve só a página e se há próxima, sem consultar o total
+    @Transactional(readOnly = true)
+    public TransacaoFatiaResponse listarFatia(TipoTransacao tipo, StatusTransacao status,
+            Long categoriaId, Long contaId, LocalDate dataInicio, LocalDate dataFim, Pageable pageable) {
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        Specification<Transacao> spec = filtros(usuario.getId(), tipo, status, categoriaId, contaId, dataInicio, dataFim);
+        Slice<TransacaoResponse> fatia = transacaoRepository.findResponses(spec, pageable);
+
+        return TransacaoFatiaResponse.builder()
+                .conteudo(fatia.getContent())
+                .pagina(fatia.getNumber())
+                .tamanho(fatia.getSize())
+                .temMais(fatia.hasNext())
+                .build();
+    }
+
+    // Paginação por cursor: busca tamanho + 1 linhas depois do cursor para saber se há próxima página,
+    // sem OFFSET nem count(*), então qualquer página custa o mesmo que a primeira
+    @Transactional(readOnly = true)
+    public TransacaoCursorResponse listarPorCursor(TipoTransacao tipo, StatusTransacao status,
+            Long categoriaId, Long contaId, LocalDate dataInicio, LocalDate dataFim, String cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new BusinessException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        CursorTransacao posicao = cursor != null ? CursorTransacao.decodificar(cursor) : null;
+
+        Specification<Transacao> spec = filtros(usuario.getId(), tipo, status, categoriaId, contaId, dataInicio, dataFim);
+        if (posicao != null) {
+            spec = spec.and(TransacaoSpecification.aposCursor(posicao.data(), posicao.id()));
+        }
+
+        Slice<TransacaoResponse> pagina = transacaoRepository.findResponses(spec,
+                PageRequest.of(0, tamanho, Sort.by(Sort.Order.desc("data"), Sort.Order.desc("id"))));
+        List<TransacaoResponse> conteudo = pagina.getContent();
+        TransacaoResponse ultima = conteudo.isEmpty() ? null : conteudo.get(conteudo.size() - 1);
+
+        return TransacaoCursorResponse.builder()
+                .conteudo(conteudo)
+                .proximoCursor(pagina.hasNext() ? new CursorTransacao(ultima.getData(), ultima.getId()).codificar() : null)
+                .temMais(pagina.hasNext())
+                .build();
+    }
+
+    // Exporta o histórico como NDJSON (um objeto JSON por linha) lendo as linhas por um cursor do banco
+    // e escrevendo cada uma assim que chega, sem montar lista nem carregar entidades no contexto
+    @Transactional(readOnly = true)
+    public void exportarNdjson(TipoTransacao tipo, StatusTransacao status, Long categoriaId, Long contaId,
+            LocalDate dataInicio, LocalDate dataFim, OutputStream saida) throws IOException {
+        Usuario usuario = userResolver.getUsuarioAutenticado();
+        Specification<Transacao> spec = filtros(usuario.getId(), tipo, status, categoriaId, contaId, dataInicio, dataFim);
+        ObjectWriter writer = objectMapper.writerFor(TransacaoResponse.class);
+
+        try (Stream<TransacaoResponse> linhas = transacaoRepository.streamResponses(spec,
+                     Sort.by(Sort.Order.asc("data"), Sort.Order.asc("id")));
+             JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<TransacaoResponse> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(gerador, iterator.next());
+                gerador.writeRaw('\n');
+            }
+        }
+    }
+
+    private Specification<Transacao> filtros(Long idUsuario, TipoTransacao tipo, StatusTransacao status,
+            Long categoriaId, Long contaId, LocalDate dataInicio, LocalDate dataFim) {
+        return Specification.where(TransacaoSpecification.doUsuario(idUsuario))
                 .and(TransacaoSpecification.comTipo(tipo))
                 .and(TransacaoSpecification.comStatus(status))
                 .and(TransacaoSpecification.daCategoria(categoriaId))
                 .and(TransacaoSpecification.daConta(contaId))
                 .and(TransacaoSpecification.dataInicio(dataInicio))
                 .and(TransacaoSpecification.dataFim(dataFim));
-        return transacaoRepository.findAll(spec, pageable).map(this::toResponse);
     }
 
     @Transactional(readOnly = true)
     public TransacaoResponse buscarPorId(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Transacao transacao = transacaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transacao", "id", id));
 
@@ -145,7 +295,7 @@ public class TransacaoService {
 
     @Transactional
     public TransacaoResponse atualizar(Long id, TransacaoRequest request) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Transacao transacao = transacaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transacao", "id", id));
 
@@ -167,6 +317,14 @@ public class TransacaoService {
             throw new BusinessException("Categoria não pertence ao usuário autenticado");
         }
 
+        estornarEfeitos(transacao);
+
+        // O orçamento que contava a transação na categoria ou data anterior precisa voltar na sincronização
+        if (!transacao.getCategoria().getId().equals(categoria.getId()) || !transacao.getData().equals(request.getData())) {
+            orcamentoRepository.marcarAlteradosNaData(usuario.getId(), transacao.getCategoria().getId(),
+                    transacao.getData(), LocalDateTime.now());
+        }
+
         transacao.setTipo(request.getTipo());
         transacao.setData(request.getData());
         transacao.setValor(request.getValor());
@@ -177,13 +335,16 @@ public class TransacaoService {
         transacao.setCategoria(categoria);
 
         transacao = transacaoRepository.save(transacao);
+        registrarEfeitos(transacao);
+
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
 
         return toResponse(transacao);
     }
 
     @Transactional
     public void deletar(Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+        Usuario usuario = userResolver.getUsuarioAutenticado();
         Transacao transacao = transacaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transacao", "id", id));
 
@@ -191,7 +352,20 @@ public class TransacaoService {
             throw new BusinessException("Transação não pertence ao usuário autenticado");
         }
 
+        estornarEfeitos(transacao);
+        exclusaoService.registrarTransacao(transacao);
         transacaoRepository.delete(transacao);
+        eventPublisher.publishEvent(new DadosFinanceirosAlteradosEvent(usuario.getId()));
+    }
+
+    private void registrarEfeitos(Transacao transacao) {
+        saldoContaService.aplicar(transacao);
+        resumoMensalService.registrar(transacao);
+    }
+
+    private void estornarEfeitos(Transacao transacao) {
+        saldoContaService.estornar(transacao);
+        resumoMensalService.estornar(transacao);
     }
 
     private TransacaoResponse toResponse(Transacao transacao) {
@@ -215,6 +389,30 @@ public class TransacaoService {
                 .build();
     }
 
+    private Transacao novaTransacao(TransacaoRequest request, Usuario usuario, Conta conta, Categoria categoria) {
+        RecorrenciaTransacao recorrencia = request.getRecorrencia() != null
+                ? request.getRecorrencia() : RecorrenciaTransacao.NENHUMA;
+
+        LocalDate dataProximaOcorrencia = null;
+        if (recorrencia != RecorrenciaTransacao.NENHUMA) {
+            dataProximaOcorrencia = calcularProximaOcorrencia(request.getData(), recorrencia);
+        }
+
+        return Transacao.builder()
+                .tipo(request.getTipo())
+                .data(request.getData())
+                .valor(request.getValor())
+                .descricao(request.getDescricao())
+                .observacao(request.getObservacao())
+                .status(request.getStatus())
+                .recorrencia(recorrencia)
+                .dataProximaOcorrencia(dataProximaOcorrencia)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build();
+    }
+
     private LocalDate calcularProximaOcorrencia(LocalDate data, RecorrenciaTransacao recorrencia) {
         return switch (recorrencia) {
             case DIARIA -> data.plusDays(1);
@@ -6,6 +6,8 @@ import br.com.ufape.spendfy.entity.enums.TipoTransacao;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 public class TransacaoSpecification {
 
@@ -44,4 +46,21 @@ public class TransacaoSpecification {
         if (dataFim == null) return null;
         return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("data"), dataFim);
     }
+
+    // Keyset na ordem (data DESC, id DESC): apenas linhas estritamente depois do cursor
+    public static Specification<Transacao> aposCursor(LocalDate data, Long id) {
+        if (data == null || id == null) return null;
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("data"), data),
+                cb.and(cb.equal(root.get("data"), data), cb.lessThan(root.get("id"), id)));
+    }
+
+    public static Specification<Transacao> atualizadasDesde(LocalDateTime desde) {
+        if (desde == null) return null;
+        return (root, query, cb) -> cb.greaterThan(root.get("dataAtualizacao"), desde);
+    }
+
+    public static Specification<Transacao> comIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
 }
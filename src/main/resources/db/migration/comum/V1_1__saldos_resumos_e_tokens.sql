@@ -0,0 +1,55 @@
+-- Objetos que a aplicação passou a usar depois do esquema inicial: saldo corrente das contas, resumos mensais
+-- das transações e tokens de autenticação. Fica logo após a V1 porque bancos já existentes são marcados nela
+-- (baseline) e recebem só o que vem depois; os dados derivados são preenchidos aqui a partir das transações.
+-- IF NOT EXISTS porque bancos criados pelo Hibernate (ddl-auto=update) já podem ter parte destes objetos;
+-- nesse caso saldos e resumos são recalculados do zero da mesma forma.
+
+-- Saldo corrente: mesma regra de SaldoContaService.reconciliar (receitas somam, despesas subtraem)
+ALTER TABLE contas ADD COLUMN IF NOT EXISTS saldo_atual NUMERIC(15, 2);
+
+UPDATE contas SET saldo_atual = saldo_inicial + COALESCE(
+    (SELECT SUM(CASE WHEN t.tipo = 'RECEITA' THEN t.valor ELSE -t.valor END)
+     FROM transacoes t
+     WHERE t.id_conta = contas.id_conta), 0);
+
+ALTER TABLE contas ALTER COLUMN saldo_atual SET NOT NULL;
+
+-- Agregado derivado das transações; sem chaves estrangeiras para não travar as escritas de transações
+CREATE TABLE IF NOT EXISTS resumos_mensais (
+    id_resumo_mensal BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_usuario       BIGINT         NOT NULL,
+    id_categoria     BIGINT         NOT NULL,
+    tipo             VARCHAR(20)    NOT NULL,
+    ano_mes          INTEGER        NOT NULL,
+    total            NUMERIC(15, 2) NOT NULL,
+    quantidade       BIGINT         NOT NULL,
+    CONSTRAINT uk_resumo_mensal UNIQUE (id_usuario, id_categoria, tipo, ano_mes)
+);
+
+-- Mesmo agrupamento de ResumoMensalService.reconstruir: um registro por usuário, categoria, tipo e mês (yyyyMM)
+DELETE FROM resumos_mensais;
+
+INSERT INTO resumos_mensais (id_usuario, id_categoria, tipo, ano_mes, total, quantidade)
+SELECT id_usuario, id_categoria, tipo, ano_mes, SUM(valor), COUNT(*)
+FROM (SELECT id_usuario, id_categoria, tipo, valor,
+             CAST(EXTRACT(YEAR FROM data) * 100 + EXTRACT(MONTH FROM data) AS INTEGER) AS ano_mes
+      FROM transacoes) t
+GROUP BY id_usuario, id_categoria, tipo, ano_mes;
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id_refresh_token BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_usuario       BIGINT                   NOT NULL,
+    token_hash       VARCHAR(64)              NOT NULL,
+    expira_em        TIMESTAMP WITH TIME ZONE NOT NULL,
+    revogado         BOOLEAN                  NOT NULL,
+    data_cadastro    TIMESTAMP                NOT NULL,
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash)
+);
+
+CREATE TABLE IF NOT EXISTS tokens_revogados (
+    id_token_revogado BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    jti               VARCHAR(36),
+    id_usuario        BIGINT,
+    revogado_em       TIMESTAMP WITH TIME ZONE NOT NULL,
+    expira_em         TIMESTAMP WITH TIME ZONE NOT NULL
+);
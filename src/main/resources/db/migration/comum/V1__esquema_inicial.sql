@@ -0,0 +1,79 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava a partir das entidades antes do Flyway.
+-- Bancos já existentes são marcados nesta versão (baseline) e seguem direto para a V1_1, então
+-- este arquivo precisa continuar idêntico a esse esquema; objetos novos entram em migrações seguintes.
+
+CREATE TABLE usuarios (
+    id_usuario       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(100) NOT NULL,
+    email            VARCHAR(100) NOT NULL,
+    senha            VARCHAR(255) NOT NULL,
+    status           VARCHAR(20)  NOT NULL,
+    data_cadastro    TIMESTAMP    NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT uk_usuario_email UNIQUE (email)
+);
+
+CREATE TABLE categorias (
+    id_categoria     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(50) NOT NULL,
+    cor              VARCHAR(20),
+    id_usuario       BIGINT      NOT NULL,
+    data_cadastro    TIMESTAMP   NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT fk_categoria_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id_usuario)
+);
+
+CREATE TABLE contas (
+    id_conta         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(50)    NOT NULL,
+    tipo             VARCHAR(30)    NOT NULL,
+    saldo_inicial    NUMERIC(15, 2) NOT NULL,
+    id_usuario       BIGINT         NOT NULL,
+    data_cadastro    TIMESTAMP      NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT fk_conta_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id_usuario)
+);
+
+CREATE TABLE transacoes (
+    id_transacao            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo                    VARCHAR(20)    NOT NULL,
+    data                    DATE           NOT NULL,
+    valor                   NUMERIC(15, 2) NOT NULL,
+    descricao               VARCHAR(100),
+    observacao              VARCHAR(255),
+    status                  VARCHAR(20)    NOT NULL,
+    recorrencia             VARCHAR(20),
+    data_proxima_ocorrencia DATE,
+    id_usuario              BIGINT         NOT NULL,
+    id_conta                BIGINT         NOT NULL,
+    id_categoria            BIGINT         NOT NULL,
+    data_cadastro           TIMESTAMP      NOT NULL,
+    data_atualizacao        TIMESTAMP,
+    CONSTRAINT fk_transacao_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id_usuario),
+    CONSTRAINT fk_transacao_conta FOREIGN KEY (id_conta) REFERENCES contas (id_conta),
+    CONSTRAINT fk_transacao_categoria FOREIGN KEY (id_categoria) REFERENCES categorias (id_categoria)
+);
+
+CREATE TABLE orcamentos (
+    id_orcamento     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    valor_limite     NUMERIC(15, 2) NOT NULL,
+    data_inicio      DATE           NOT NULL,
+    data_fim         DATE           NOT NULL,
+    id_usuario       BIGINT         NOT NULL,
+    id_categoria     BIGINT         NOT NULL,
+    data_cadastro    TIMESTAMP      NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT fk_orcamento_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id_usuario),
+    CONSTRAINT fk_orcamento_categoria FOREIGN KEY (id_categoria) REFERENCES categorias (id_categoria)
+);
+
+CREATE TABLE alertas (
+    id_alerta     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo          VARCHAR(40)  NOT NULL,
+    mensagem      VARCHAR(500) NOT NULL,
+    lido          BOOLEAN      NOT NULL,
+    id_usuario    BIGINT       NOT NULL,
+    id_referencia BIGINT,
+    criado_em     TIMESTAMP    NOT NULL,
+    CONSTRAINT fk_alerta_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id_usuario)
+);
@@ -0,0 +1,30 @@
+-- Índices compostos alinhados às consultas dos repositórios.
+-- IF NOT EXISTS porque bancos criados pelo Hibernate (ddl-auto=update) já podem ter alguns deles.
+
+-- Listagens por usuário ordenadas por data (paginação, cursor, relatórios)
+CREATE INDEX IF NOT EXISTS idx_transacao_usuario_data_id ON transacoes (id_usuario, data, id_transacao);
+
+-- Recalculo do saldo das contas (efeito das receitas e despesas por conta)
+CREATE INDEX IF NOT EXISTS idx_transacao_conta_tipo ON transacoes (id_conta, tipo);
+
+-- Total gasto por categoria e período (orçamentos, alertas e filtros por categoria)
+CREATE INDEX IF NOT EXISTS idx_transacao_usuario_categoria_tipo_data ON transacoes (id_usuario, id_categoria, tipo, data);
+
+-- Busca das recorrências vencidas pelo agendador
+CREATE INDEX IF NOT EXISTS idx_transacao_proxima_ocorrencia ON transacoes (data_proxima_ocorrencia);
+
+-- Alertas não lidos do usuário, do mais recente para o mais antigo
+CREATE INDEX IF NOT EXISTS idx_alerta_usuario_lido_criado ON alertas (id_usuario, lido, criado_em);
+
+CREATE INDEX IF NOT EXISTS idx_conta_usuario ON contas (id_usuario);
+
+CREATE INDEX IF NOT EXISTS idx_categoria_usuario ON categorias (id_usuario);
+
+CREATE INDEX IF NOT EXISTS idx_orcamento_usuario_categoria ON orcamentos (id_usuario, id_categoria);
+
+CREATE INDEX IF NOT EXISTS idx_resumo_mensal_usuario_tipo_mes ON resumos_mensais (id_usuario, tipo, ano_mes);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_usuario ON refresh_tokens (id_usuario);
+
+-- Carga das revogações vigentes na inicialização e limpeza das expiradas
+CREATE INDEX IF NOT EXISTS idx_token_revogado_expira ON tokens_revogados (expira_em);
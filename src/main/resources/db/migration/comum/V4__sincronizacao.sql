@@ -0,0 +1,22 @@
+-- Sincronização incremental (/api/sync): registro das exclusões e busca por data de atualização.
+
+CREATE TABLE exclusoes (
+    id_exclusao   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_usuario    BIGINT      NOT NULL,
+    recurso       VARCHAR(20) NOT NULL,
+    id_recurso    BIGINT      NOT NULL,
+    data_exclusao TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX idx_exclusao_usuario_data ON exclusoes (id_usuario, data_exclusao);
+
+-- Registros antigos sem data de atualização passam a usar a de cadastro
+UPDATE transacoes SET data_atualizacao = data_cadastro WHERE data_atualizacao IS NULL;
+UPDATE contas SET data_atualizacao = data_cadastro WHERE data_atualizacao IS NULL;
+UPDATE categorias SET data_atualizacao = data_cadastro WHERE data_atualizacao IS NULL;
+UPDATE orcamentos SET data_atualizacao = data_cadastro WHERE data_atualizacao IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transacao_usuario_atualizacao ON transacoes (id_usuario, data_atualizacao);
+CREATE INDEX IF NOT EXISTS idx_conta_usuario_atualizacao ON contas (id_usuario, data_atualizacao);
+CREATE INDEX IF NOT EXISTS idx_categoria_usuario_atualizacao ON categorias (id_usuario, data_atualizacao);
+CREATE INDEX IF NOT EXISTS idx_orcamento_usuario_atualizacao ON orcamentos (id_usuario, data_atualizacao);
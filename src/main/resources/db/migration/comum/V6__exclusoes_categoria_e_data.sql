@@ -0,0 +1,5 @@
+-- Transações excluídas guardam categoria e data, para a sincronização reenviar só os orçamentos afetados.
+-- Registros anteriores ficam com as colunas nulas e fazem o reenvio de todos os orçamentos do usuário
+
+ALTER TABLE exclusoes ADD COLUMN id_categoria BIGINT;
+ALTER TABLE exclusoes ADD COLUMN data_transacao DATE;
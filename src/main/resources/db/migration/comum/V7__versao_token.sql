@@ -0,0 +1,11 @@
+-- Versão dos access tokens por usuário: a troca de senha incrementa a versão e o filtro JWT recusa tokens
+-- de versão anterior, sem depender do relógio (o iat do JWT tem precisão de segundos)
+
+ALTER TABLE usuarios ADD COLUMN versao_token INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE tokens_revogados ADD COLUMN versao_token INTEGER;
+
+-- Revogações por usuário anteriores a esta versão passam a exigir a versão 1; tokens sem o claim de
+-- versão contam como 0, então esses usuários precisam entrar de novo uma vez
+UPDATE usuarios SET versao_token = 1 WHERE id_usuario IN (
+    SELECT id_usuario FROM tokens_revogados WHERE id_usuario IS NOT NULL AND expira_em > CURRENT_TIMESTAMP);
+UPDATE tokens_revogados SET versao_token = 1 WHERE id_usuario IS NOT NULL;
@@ -0,0 +1,2 @@
+-- O H2 não tem índice de trigramas; a busca usa o índice em memória de IndiceBuscaTransacoes.
+-- Migração mantida vazia para que o histórico de versões seja o mesmo nos dois bancos.
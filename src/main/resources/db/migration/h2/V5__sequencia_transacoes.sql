@@ -0,0 +1,7 @@
+-- Mesma troca de IDENTITY por sequência da V5 do PostgreSQL (ver o comentário de lá).
+ALTER TABLE transacoes ALTER COLUMN id_transacao DROP IDENTITY;
+
+CREATE SEQUENCE transacoes_seq INCREMENT BY 50;
+ALTER SEQUENCE transacoes_seq RESTART WITH (SELECT COALESCE(MAX(id_transacao), 0) + 50 FROM transacoes);
+
+ALTER TABLE transacoes ALTER COLUMN id_transacao SET DEFAULT NEXT VALUE FOR transacoes_seq;
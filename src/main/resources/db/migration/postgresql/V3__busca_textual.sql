@@ -0,0 +1,15 @@
+-- Busca aproximada em descrição e observação: índice GIN de trigramas (pg_trgm) sobre a mesma
+-- expressão usada por TransacaoRepositoryImpl, precedido do id do usuário (btree_gin) para que a
+-- busca de um usuário não percorra os trigramas dos demais. As extensões exigem permissão de criação.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- Acentos são ignorados como no índice em memória do H2 ("cafe" encontra "Café"). unaccent() é STABLE
+-- (depende do dicionário em uso) e não pode entrar num índice; com o dicionário fixo, o invólucro é IMMUTABLE
+CREATE OR REPLACE FUNCTION sem_acentos(texto text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, texto) $$;
+
+CREATE INDEX IF NOT EXISTS idx_transacao_busca_trgm ON transacoes
+    USING gin (id_usuario, (sem_acentos(lower(coalesce(descricao, '') || ' ' || coalesce(observacao, '')))) gin_trgm_ops);
@@ -0,0 +1,10 @@
+-- Ids das transações passam a vir de uma sequência com incremento 50 (otimizador pooled do Hibernate),
+-- o que permite agrupar os INSERTs em lotes JDBC; IDENTITY obrigava um INSERT por vez para obter o id.
+-- A sequência também vira o DEFAULT da coluna, então INSERTs diretos por SQL continuam funcionando:
+-- cada valor sorteado reserva o bloco (valor - 50, valor], sem colidir com os blocos do Hibernate.
+ALTER TABLE transacoes ALTER COLUMN id_transacao DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE transacoes_seq INCREMENT BY 50 OWNED BY transacoes.id_transacao;
+SELECT setval('transacoes_seq', COALESCE((SELECT MAX(id_transacao) FROM transacoes), 0) + 50, false);
+
+ALTER TABLE transacoes ALTER COLUMN id_transacao SET DEFAULT nextval('transacoes_seq');
@@ -0,0 +1,90 @@
+package br.com.ufape.spendfy.benchmark;
+
+import br.com.ufape.spendfy.component.IndiceBuscaTransacoes;
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Latência de uma busca no índice em memória de um usuário com 100 mil transações (índice já montado):
+// termo raro com erro de digitação, termo frequente por prefixo e termo frequente com filtro de período
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaTransacoesBenchmark {
+
+    private static final int TRANSACOES = 100_000;
+    private static final String[] DESCRICOES = {
+            "Supermercado Extra", "Farmácia São João", "Uber viagem", "Restaurante Sabor Caseiro",
+            "Posto de gasolina Shell", "Padaria Pão Quente", "Conta de luz", "Internet fibra",
+            "Cinema shopping", "Academia mensalidade", "Livraria Cultura", "Pet shop ração"};
+    private static final FiltroTransacao SEM_FILTRO = new FiltroTransacao(null, null, null, null, null, null);
+
+    private IndiceBuscaTransacoes indice;
+    private List<IndiceBuscaTransacoes.Documento> documentos;
+    private FiltroTransacao ultimoMes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate hoje = LocalDate.of(2024, 6, 30);
+        documentos = new ArrayList<>(TRANSACOES);
+        for (long i = 1; i <= TRANSACOES; i++) {
+            String texto = DESCRICOES[random.nextInt(DESCRICOES.length)] + " pedido " + random.nextInt(100_000);
+            documentos.add(new IndiceBuscaTransacoes.Documento(i, texto, TipoTransacao.DESPESA,
+                    StatusTransacao.CONFIRMADA, (long) random.nextInt(20), (long) random.nextInt(5),
+                    hoje.minusDays(random.nextInt(3_650))));
+        }
+        ultimoMes = new FiltroTransacao(null, null, null, null, hoje.minusMonths(1), hoje);
+        indice = new IndiceBuscaTransacoes(TRANSACOES, Duration.ZERO, new SimpleMeterRegistry());
+        buscar("aquecimento", SEM_FILTRO);
+    }
+
+    @Benchmark
+    public List<Long> termoRaroComErro() {
+        return buscar("livraia cultura", SEM_FILTRO);
+    }
+
+    @Benchmark
+    public List<Long> termoFrequentePorPrefixo() {
+        return buscar("super", SEM_FILTRO);
+    }
+
+    @Benchmark
+    public List<Long> termoFrequenteNoUltimoMes() {
+        return buscar("farmacia", ultimoMes);
+    }
+
+    private List<Long> buscar(String consulta, FiltroTransacao filtro) {
+        return indice.buscar(1L, consulta, filtro, 20, () -> documentos);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BuscaTransacoesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
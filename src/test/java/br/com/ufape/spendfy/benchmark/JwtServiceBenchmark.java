@@ -0,0 +1,89 @@
+package br.com.ufape.spendfy.benchmark;
+
+import br.com.ufape.spendfy.component.TokenClaims;
+import br.com.ufape.spendfy.component.TokenVerificadoCache;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Tokens verificados por segundo: caminho antigo do filtro (chave e parser recriados, três parses),
+// verificar() e verificar() atrás do cache de tokens
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtService jwtService;
+    private TokenVerificadoCache tokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, TimeUnit.HOURS.toMillis(1));
+        tokenCache = new TokenVerificadoCache(true, 1_000, new SimpleMeterRegistry());
+        token = jwtService.generateToken(Usuario.builder()
+                .id(1L)
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha("$2a$10$encodedPassword")
+                .status(StatusUsuario.ATIVO)
+                .build());
+    }
+
+    @Benchmark
+    public boolean antes() {
+        String username = parseComChaveNova(token).getSubject();
+        return username.equals(parseComChaveNova(token).getSubject())
+                && !parseComChaveNova(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public TokenClaims depois() {
+        return jwtService.verificar(token);
+    }
+
+    @Benchmark
+    public TokenClaims comCache() {
+        return tokenCache.obter(token, jwtService::verificar);
+    }
+
+    private static Claims parseComChaveNova(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.ufape.spendfy.component;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes Unitários - BaldeDeTokens")
+class BaldeDeTokensTest {
+
+    @Test
+    @DisplayName("Deve permitir rajada até a capacidade e repor tokens com o tempo")
+    void devePermitirRajadaERepor() {
+        BaldeDeTokens balde = new BaldeDeTokens(3, 60, 0);
+
+        assertThat(balde.consumir(0).restantes()).isEqualTo(2);
+        assertThat(balde.consumir(0).restantes()).isEqualTo(1);
+        assertThat(balde.consumir(0).permitido()).isTrue();
+
+        BaldeDeTokens.Consumo rejeitado = balde.consumir(0);
+        assertThat(rejeitado.permitido()).isFalse();
+        assertThat(rejeitado.retryAfterSegundos()).isEqualTo(1);
+        assertThat(rejeitado.resetSegundos()).isEqualTo(3);
+
+        assertThat(balde.consumir(TimeUnit.SECONDS.toNanos(1)).permitido()).isTrue();
+        assertThat(balde.consumir(TimeUnit.SECONDS.toNanos(1)).permitido()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve acumular além da capacidade")
+    void naoDeveAcumularAlemDaCapacidade() {
+        BaldeDeTokens balde = new BaldeDeTokens(2, 60, 0);
+
+        BaldeDeTokens.Consumo consumo = balde.consumir(TimeUnit.HOURS.toNanos(1));
+
+        assertThat(consumo.permitido()).isTrue();
+        assertThat(consumo.restantes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.exception.ServicoSobrecarregadoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes Unitários - CodificadorSenha")
+class CodificadorSenhaTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve codificar e conferir senha no executor dedicado")
+    void deveCodificarEConferirSenha() {
+        CodificadorSenha codificador = new CodificadorSenha(4, executor, 1);
+
+        String hash = codificador.encode("senha123");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(codificador.matches("senha123", hash)).isTrue();
+        assertThat(codificador.matches("outra", hash)).isFalse();
+        assertThat(executor.getTaskCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve falhar rápido quando a fila de hashes está cheia")
+    void deveFalharRapidoComFilaCheia() {
+        CodificadorSenha codificador = new CodificadorSenha(4, executor, 5);
+        executor.execute(this::aguardarLiberacao);
+        executor.execute(this::aguardarLiberacao);
+
+        assertThatThrownBy(() -> codificador.encode("senha123"))
+                .isInstanceOf(ServicoSobrecarregadoException.class)
+                .satisfies(ex -> assertThat(((ServicoSobrecarregadoException) ex).getRetryAfterSegundos()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("Deve pedir novo hash quando o custo armazenado difere do configurado")
+    void devePedirNovoHashQuandoCustoDifere() {
+        CodificadorSenha codificador = new CodificadorSenha(6, executor, 1);
+
+        assertThat(codificador.upgradeEncoding(new BCryptPasswordEncoder(4).encode("senha123"))).isTrue();
+        assertThat(codificador.upgradeEncoding(new BCryptPasswordEncoder(8).encode("senha123"))).isTrue();
+        assertThat(codificador.upgradeEncoding(new BCryptPasswordEncoder(6).encode("senha123"))).isFalse();
+        assertThat(codificador.upgradeEncoding(null)).isFalse();
+    }
+
+    private void aguardarLiberacao() {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.dto.transacao.FiltroTransacao;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes Unitários - IndiceBuscaTransacoes")
+class IndiceBuscaTransacoesTest {
+
+    private static final FiltroTransacao SEM_FILTRO = new FiltroTransacao(null, null, null, null, null, null);
+    private static final LocalDate HOJE = LocalDate.of(2024, 6, 15);
+
+    private final AtomicInteger carregamentos = new AtomicInteger();
+    private final List<IndiceBuscaTransacoes.Documento> documentos = new ArrayList<>();
+    private IndiceBuscaTransacoes indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBuscaTransacoes(100, Duration.ZERO, new SimpleMeterRegistry());
+        documentos.add(documento(1L, "Supermercado Extra compras do mês", TipoTransacao.DESPESA, 10L, HOJE.minusDays(3)));
+        documentos.add(documento(2L, "Farmácia São João", TipoTransacao.DESPESA, 11L, HOJE.minusDays(2)));
+        documentos.add(documento(3L, "Salário empresa", TipoTransacao.RECEITA, 12L, HOJE.minusDays(1)));
+        documentos.add(documento(4L, "Supermercado Atacadão", TipoTransacao.DESPESA, 10L, HOJE));
+        documentos.add(documento(5L, "Uber para o mercado", TipoTransacao.DESPESA, 13L, HOJE));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar por prefixo, da transação mais recente para a mais antiga")
+    void deveEncontrarPorPrefixo() {
+        assertThat(buscar("super", SEM_FILTRO, 10)).containsExactly(4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve tolerar erro de digitação, caixa e acentos")
+    void deveTolerarErrosDeDigitacao() {
+        assertThat(buscar("supermecado", SEM_FILTRO, 10)).containsExactly(4L, 1L);
+        assertThat(buscar("FARMACIA", SEM_FILTRO, 10)).containsExactly(2L);
+        assertThat(buscar("salario", SEM_FILTRO, 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar pela quantidade de trigramas em comum")
+    void deveOrdenarPorRelevancia() {
+        assertThat(buscar("supermercado extra", SEM_FILTRO, 10)).startsWith(1L);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os filtros e o limite")
+    void deveAplicarFiltrosELimite() {
+        assertThat(buscar("supermercado", new FiltroTransacao(null, null, null, null, null, HOJE.minusDays(1)), 10))
+                .containsExactly(1L);
+        assertThat(buscar("salario", new FiltroTransacao(TipoTransacao.DESPESA, null, null, null, null, null), 10))
+                .isEmpty();
+        assertThat(buscar("supermercado", SEM_FILTRO, 1)).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar textos sem semelhança suficiente")
+    void deveIgnorarTextosSemSemelhanca() {
+        assertThat(buscar("academia", SEM_FILTRO, 10)).isEmpty();
+        assertThat(buscar("   ", SEM_FILTRO, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve montar o índice uma vez e remontar após alteração dos dados do usuário")
+    void deveRemontarIndiceAposAlteracao() {
+        buscar("super", SEM_FILTRO, 10);
+        buscar("farmacia", SEM_FILTRO, 10);
+        assertThat(carregamentos).hasValue(1);
+
+        documentos.add(documento(6L, "Supermercado Pão de Açúcar", TipoTransacao.DESPESA, 10L, HOJE.plusDays(1)));
+        indice.aoAlterarDadosFinanceiros(new DadosFinanceirosAlteradosEvent(1L));
+
+        assertThat(buscar("super", SEM_FILTRO, 10)).containsExactly(6L, 4L, 1L);
+        assertThat(carregamentos).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve limitar o cache pelo total de documentos indexados, não pelo número de usuários")
+    void deveLimitarCachePeloTotalDeDocumentos() {
+        IndiceBuscaTransacoes limitado = new IndiceBuscaTransacoes(8, Duration.ZERO, new SimpleMeterRegistry());
+
+        limitado.buscar(1L, "super", SEM_FILTRO, 10, () -> List.copyOf(documentos));
+        assertThat(limitado.documentosEmCache()).isEqualTo(5);
+
+        limitado.buscar(2L, "super", SEM_FILTRO, 10, () -> List.copyOf(documentos));
+        assertThat(limitado.documentosEmCache()).isEqualTo(5);
+        assertThat(limitado.estatisticas().evictionCount()).isEqualTo(1);
+    }
+
+    private List<Long> buscar(String consulta, FiltroTransacao filtro, int limite) {
+        return indice.buscar(1L, consulta, filtro, limite, () -> {
+            carregamentos.incrementAndGet();
+            return List.copyOf(documentos);
+        });
+    }
+
+    private static IndiceBuscaTransacoes.Documento documento(Long id, String texto, TipoTransacao tipo,
+                                                           Long idCategoria, LocalDate data) {
+        return new IndiceBuscaTransacoes.Documento(id, texto, tipo, StatusTransacao.CONFIRMADA, idCategoria, 1L, data);
+    }
+}
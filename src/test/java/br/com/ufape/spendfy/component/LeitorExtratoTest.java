@@ -0,0 +1,186 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.dto.transacao.ImportacaoExtratoRequest;
+import br.com.ufape.spendfy.entity.enums.FormatoExtrato;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.exception.BusinessException;
+import br.com.ufape.spendfy.exception.LinhaExtratoInvalidaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes Unitários - LeitorExtrato")
+class LeitorExtratoTest {
+
+    @Test
+    @DisplayName("Deve ler campos entre aspas com separador, aspas dobradas e quebra de linha")
+    void deveLerCamposEntreAspas() throws IOException {
+        String csv = """
+                data;descricao;valor
+                01/02/2024;"Mercado; ""Extra""
+                filial 2";-10,50
+                02/02/2024;Salário;3.500,00
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(new StringReader(csv), FormatoExtrato.CSV,
+                ImportacaoExtratoRequest.builder().build())) {
+            LeitorExtrato.Lancamento mercado = leitor.proximo();
+            assertThat(mercado.linha()).isEqualTo(2);
+            assertThat(mercado.descricao()).isEqualTo("Mercado; \"Extra\"\nfilial 2");
+            assertThat(mercado.valor()).isEqualByComparingTo("10.50");
+            assertThat(mercado.tipo()).isEqualTo(TipoTransacao.DESPESA);
+
+            LeitorExtrato.Lancamento salario = leitor.proximo();
+            assertThat(salario.linha()).isEqualTo(4);
+            assertThat(salario.data()).isEqualTo(LocalDate.of(2024, 2, 2));
+            assertThat(salario.valor()).isEqualByComparingTo("3500.00");
+            assertThat(salario.tipo()).isEqualTo(TipoTransacao.RECEITA);
+
+            assertThat(leitor.proximo()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve mapear colunas por posição, com coluna de tipo e sem cabeçalho")
+    void deveMapearColunasPorPosicao() throws IOException {
+        String csv = "2024-03-05,D,Farmácia,25.90\r\n2024-03-06,crédito,Pix recebido,100\r\n";
+        ImportacaoExtratoRequest opcoes = ImportacaoExtratoRequest.builder()
+                .cabecalho(false)
+                .separador(',')
+                .separadorDecimal('.')
+                .formatoData("yyyy-MM-dd")
+                .colunaData("1")
+                .colunaTipo("2")
+                .colunaDescricao("3")
+                .colunaValor("4")
+                .build();
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(new StringReader(csv), FormatoExtrato.CSV, opcoes)) {
+            LeitorExtrato.Lancamento farmacia = leitor.proximo();
+            assertThat(farmacia.tipo()).isEqualTo(TipoTransacao.DESPESA);
+            assertThat(farmacia.valor()).isEqualByComparingTo("25.90");
+            assertThat(farmacia.descricao()).isEqualTo("Farmácia");
+
+            LeitorExtrato.Lancamento pix = leitor.proximo();
+            assertThat(pix.tipo()).isEqualTo(TipoTransacao.RECEITA);
+            assertThat(pix.valor()).isEqualByComparingTo(BigDecimal.valueOf(100));
+            assertThat(leitor.proximo()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve apontar a linha inválida e continuar na seguinte")
+    void deveContinuarAposLinhaInvalida() throws IOException {
+        String csv = """
+                data;descricao;valor
+                01/02/2024;Sem valor
+                01/02/2024;Zero;0,00
+                03/02/2024;Padaria;-8,00
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(new StringReader(csv), FormatoExtrato.CSV,
+                ImportacaoExtratoRequest.builder().build())) {
+            assertThatThrownBy(leitor::proximo)
+                    .isInstanceOf(LinhaExtratoInvalidaException.class)
+                    .hasMessage("Linha com 2 coluna(s); esperado ao menos 3")
+                    .extracting("linha").isEqualTo(2L);
+            assertThatThrownBy(leitor::proximo)
+                    .isInstanceOf(LinhaExtratoInvalidaException.class)
+                    .hasMessage("Valor deve ser maior que zero");
+            assertThat(leitor.proximo().descricao()).isEqualTo("Padaria");
+            assertThat(leitor.proximo()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar campo acima do tamanho máximo e continuar no registro seguinte")
+    void deveRecusarCampoAcimaDoLimite() throws IOException {
+        String longo = "x".repeat(LeitorExtrato.TAMANHO_MAXIMO_CAMPO + 1);
+        String csv = "data;descricao;valor\n" +
+                "01/02/2024;\"" + longo + "\n" + longo + "\";-1,00\n" +
+                "02/02/2024;" + longo + ";-2,00\n" +
+                "03/02/2024;Padaria;-8,00\n";
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(new StringReader(csv), FormatoExtrato.CSV,
+                ImportacaoExtratoRequest.builder().build())) {
+            assertThatThrownBy(leitor::proximo)
+                    .isInstanceOf(LinhaExtratoInvalidaException.class)
+                    .hasMessage("Campo excede o tamanho máximo de " + LeitorExtrato.TAMANHO_MAXIMO_CAMPO + " caracteres")
+                    .extracting("linha").isEqualTo(2L);
+            assertThatThrownBy(leitor::proximo)
+                    .isInstanceOf(LinhaExtratoInvalidaException.class)
+                    .extracting("linha").isEqualTo(4L);
+            assertThat(leitor.proximo().descricao()).isEqualTo("Padaria");
+            assertThat(leitor.proximo()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar texto de tag OFX acima do tamanho máximo e continuar no lançamento seguinte")
+    void deveRecusarTextoOfxAcimaDoLimite() throws IOException {
+        String ofx = "<OFX><BANKTRANLIST>\n" +
+                "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240210<TRNAMT>-1.00\n" +
+                "<MEMO>" + "x".repeat(LeitorExtrato.TAMANHO_MAXIMO_CAMPO + 1) + "</STMTTRN>\n" +
+                "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240211<TRNAMT>-2.00<MEMO>Posto</STMTTRN>\n" +
+                "</BANKTRANLIST></OFX>\n";
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(new StringReader(ofx), FormatoExtrato.OFX,
+                ImportacaoExtratoRequest.builder().build())) {
+            assertThatThrownBy(leitor::proximo)
+                    .isInstanceOf(LinhaExtratoInvalidaException.class)
+                    .hasMessage("Campo excede o tamanho máximo de " + LeitorExtrato.TAMANHO_MAXIMO_CAMPO + " caracteres")
+                    .extracting("linha").isEqualTo(3L);
+            assertThat(leitor.proximo().descricao()).isEqualTo("Posto");
+            assertThat(leitor.proximo()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar coluna ausente do cabeçalho ao abrir o arquivo")
+    void deveRecusarColunaAusente() {
+        ImportacaoExtratoRequest opcoes = ImportacaoExtratoRequest.builder().colunaValor("Montante").build();
+
+        assertThatThrownBy(() -> LeitorExtrato.abrir(new StringReader("Data;Descrição;Valor\n"),
+                FormatoExtrato.CSV, opcoes))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Coluna 'Montante' não encontrada no cabeçalho do arquivo");
+    }
+
+    @Test
+    @DisplayName("Deve ler OFX em XML usando NAME quando não há MEMO")
+    void deveLerOfxXml() throws IOException {
+        String ofx = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <?OFX OFXHEADER="200" VERSION="220"?>
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                  <STMTTRN><TRNTYPE>DEBIT</TRNTYPE><DTPOSTED>20240210</DTPOSTED><TRNAMT>-42.10</TRNAMT>
+                    <NAME>Posto</NAME><MEMO></MEMO></STMTTRN>
+                  <STMTTRN><TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>20240211100000</DTPOSTED><TRNAMT>10</TRNAMT>
+                    <NAME>Estorno</NAME><MEMO>Estorno tarifa</MEMO></STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(new StringReader(ofx), FormatoExtrato.OFX,
+                ImportacaoExtratoRequest.builder().build())) {
+            LeitorExtrato.Lancamento posto = leitor.proximo();
+            assertThat(posto.linha()).isEqualTo(4);
+            assertThat(posto.descricao()).isEqualTo("Posto");
+            assertThat(posto.valor()).isEqualByComparingTo("42.10");
+            assertThat(posto.tipo()).isEqualTo(TipoTransacao.DESPESA);
+
+            LeitorExtrato.Lancamento estorno = leitor.proximo();
+            assertThat(estorno.data()).isEqualTo(LocalDate.of(2024, 2, 11));
+            assertThat(estorno.descricao()).isEqualTo("Estorno tarifa");
+            assertThat(estorno.tipo()).isEqualTo(TipoTransacao.RECEITA);
+
+            assertThat(leitor.proximo()).isNull();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.ufape.spendfy.component;
+
+import br.com.ufape.spendfy.entity.TokenRevogado;
+import br.com.ufape.spendfy.repository.TokenRevogadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - TokensRevogados")
+class TokensRevogadosTest {
+
+    @Mock
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    private TokensRevogados tokensRevogados;
+
+    @BeforeEach
+    void setUp() {
+        tokensRevogados = new TokensRevogados(tokenRevogadoRepository, 1_000, 900_000);
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer apenas o jti revogado")
+    void deveReconhecerApenasJtiRevogado() {
+        when(tokenRevogadoRepository.save(any(TokenRevogado.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String revogado = UUID.randomUUID().toString();
+
+        tokensRevogados.revogarToken(revogado, Instant.now().plusSeconds(600));
+
+        assertThat(tokensRevogados.estaRevogado(revogado, 1L, 0)).isTrue();
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(tokensRevogados.estaRevogado(UUID.randomUUID().toString(), 1L, 0)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve revogar tokens do usuário com versão anterior à mínima")
+    void deveRevogarTokensDoUsuarioComVersaoAnterior() {
+        when(tokenRevogadoRepository.save(any(TokenRevogado.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        tokensRevogados.revogarUsuario(1L, 2);
+
+        assertThat(tokensRevogados.estaRevogado(null, 1L, 1)).isTrue();
+        assertThat(tokensRevogados.estaRevogado(null, 1L, null)).isTrue();
+        assertThat(tokensRevogados.estaRevogado(null, 2L, 1)).isFalse();
+        assertThat(tokensRevogados.estaRevogado(null, 1L, 2)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar revogações ainda válidas na inicialização")
+    void deveRecarregarRevogacoesNaInicializacao() {
+        Instant agora = Instant.now();
+        when(tokenRevogadoRepository.findByExpiraEmAfter(any(Instant.class))).thenReturn(List.of(
+                TokenRevogado.builder().jti("jti-1").revogadoEm(agora).expiraEm(agora.plusSeconds(600)).build(),
+                TokenRevogado.builder().idUsuario(3L).versaoToken(1).revogadoEm(agora).expiraEm(agora.plusSeconds(600)).build(),
+                TokenRevogado.builder().idUsuario(3L).versaoToken(3).revogadoEm(agora).expiraEm(agora.plusSeconds(300)).build()));
+
+        tokensRevogados.carregar();
+
+        assertThat(tokensRevogados.estaRevogado("jti-1", 1L, 0)).isTrue();
+        assertThat(tokensRevogados.estaRevogado("jti-2", 3L, 2)).isTrue();
+        assertThat(tokensRevogados.estaRevogado("jti-2", 3L, 3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a revogação em memória só depois do commit")
+    void deveAplicarRevogacaoSoDepoisDoCommit() {
+        when(tokenRevogadoRepository.save(any(TokenRevogado.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokensRevogados.revogarUsuario(1L, 1);
+            tokensRevogados.revogarToken("jti-1", Instant.now().plusSeconds(600));
+
+            assertThat(tokensRevogados.estaRevogado(null, 1L, 0)).isFalse();
+            assertThat(tokensRevogados.estaRevogado("jti-1", 2L, 0)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(tokensRevogados.estaRevogado(null, 1L, 0)).isTrue();
+        assertThat(tokensRevogados.estaRevogado("jti-1", 2L, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não deve aplicar a revogação em memória quando a transação é desfeita")
+    void naoDeveAplicarRevogacaoAposRollback() {
+        when(tokenRevogadoRepository.save(any(TokenRevogado.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokensRevogados.revogarUsuario(1L, 1);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(tokensRevogados.estaRevogado(null, 1L, 0)).isFalse();
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.ufape.spendfy.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = {
+        "rate-limit.habilitado=true",
+        "rate-limit.relatorios.capacidade=2",
+        "rate-limit.relatorios.por-minuto=1",
+        "rate-limit.auth.capacidade=1",
+        "rate-limit.auth.por-minuto=1"
+})
+@DisplayName("Testes de Integração - LimiteRequisicoesFilter")
+class LimiteRequisicoesFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve responder 429 com cabeçalhos de limite ao esgotar o balde do grupo")
+    void deveResponder429AoEsgotarBalde() throws Exception {
+        mockMvc.perform(get("/api/relatorios/csv").with(user("ana@email.com")))
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        mockMvc.perform(get("/api/relatorios/csv").with(user("ana@email.com")))
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+
+        mockMvc.perform(get("/api/relatorios/csv").with(user("ana@email.com")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().exists("RateLimit-Reset"))
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    @DisplayName("Deve manter baldes separados por usuário e por grupo")
+    void deveManterBaldesSeparadosPorUsuarioEGrupo() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/relatorios/csv").with(user("bruno@email.com")));
+        }
+        mockMvc.perform(get("/api/relatorios/csv").with(user("bruno@email.com")))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/api/relatorios/csv").with(user("carla@email.com")))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        mockMvc.perform(get("/api/contas").with(user("bruno@email.com")))
+                .andExpect(header().string("RateLimit-Limit", "120"));
+    }
+
+    @Test
+    @DisplayName("Deve limitar /api/auth por IP")
+    void deveLimitarAuthPorIp() throws Exception {
+        mockMvc.perform(post("/api/auth/login").with(ip("10.0.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/auth/login").with(ip("10.0.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(post("/api/auth/login").with(ip("10.0.0.2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static RequestPostProcessor ip(String endereco) {
+        return request -> {
+            request.setRemoteAddr(endereco);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.ufape.spendfy.config;
+
+import br.com.ufape.spendfy.component.UsuarioPrincipal;
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.repository.CategoriaRepository;
+import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Testes de Integração - RequisicaoCondicionalFilter")
+class RequisicaoCondicionalFilterIntegrationTest {
+
+    private static final List<String> RECURSOS = List.of(
+            "/api/transacoes", "/api/contas", "/api/categorias", "/api/orcamentos", "/api/dashboard");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Usuario usuario;
+    private Conta conta;
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() {
+        usuario = salvarUsuario("joao@email.com");
+        conta = contaRepository.save(Conta.builder()
+                .nome("Conta Corrente")
+                .tipo("Corrente")
+                .saldoInicial(BigDecimal.valueOf(1000.00))
+                .usuario(usuario)
+                .build());
+        categoria = categoriaRepository.save(Categoria.builder()
+                .nome("Alimentação")
+                .cor("verde")
+                .usuario(usuario)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem consultar o banco quando a ETag continua válida")
+    void deveResponder304SemConsultarBanco() throws Exception {
+        for (String recurso : RECURSOS) {
+            String etag = obterEtag(recurso, usuario);
+
+            entityManager.flush();
+            entityManager.clear();
+            Statistics statistics = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(get(recurso).with(autenticado(usuario)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(content().string(""));
+
+            assertThat(statistics.getPrepareStatementCount()).as(recurso).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve trocar a ETag quando o usuário altera seus dados")
+    void deveTrocarEtagAposEscrita() throws Exception {
+        String etag = obterEtag("/api/transacoes", usuario);
+
+        mockMvc.perform(post("/api/transacoes").with(autenticado(usuario))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"tipo": "DESPESA", "data": "2025-01-10", "valor": 50.00,
+                                 "status": "CONFIRMADA", "idConta": %d, "idCategoria": %d}
+                                """.formatted(conta.getId(), categoria.getId())))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/transacoes").with(autenticado(usuario)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+        assertThat(obterEtag("/api/contas", usuario)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Deve manter ETags distintas por usuário e não ser afetado por escritas de outro usuário")
+    void deveSepararEtagsPorUsuario() throws Exception {
+        Usuario outro = salvarUsuario("maria@email.com");
+        String etagJoao = obterEtag("/api/contas", usuario);
+        String etagMaria = obterEtag("/api/contas", outro);
+        assertThat(etagJoao).isNotEqualTo(etagMaria);
+
+        mockMvc.perform(post("/api/contas").with(autenticado(outro))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome": "Poupança", "tipo": "Poupança", "saldoInicial": 10.00}
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/contas").with(autenticado(usuario)).header(HttpHeaders.IF_NONE_MATCH, etagJoao))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/contas").with(autenticado(usuario)).header(HttpHeaders.IF_NONE_MATCH, etagMaria))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Não deve emitir ETag sem o principal do token")
+    void naoDeveEmitirEtagSemPrincipalDoToken() throws Exception {
+        mockMvc.perform(get("/api/contas").with(user("joao@email.com")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String obterEtag(String recurso, Usuario dono) throws Exception {
+        String etag = mockMvc.perform(get(recurso).with(autenticado(dono)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        return etag;
+    }
+
+    private Usuario salvarUsuario(String email) {
+        return usuarioRepository.save(Usuario.builder()
+                .nome("Usuário")
+                .email(email)
+                .senha("senha")
+                .status(StatusUsuario.ATIVO)
+                .build());
+    }
+
+    private static RequestPostProcessor autenticado(Usuario usuario) {
+        return authentication(new UsernamePasswordAuthenticationToken(UsuarioPrincipal.of(usuario), null, List.of()));
+    }
+}
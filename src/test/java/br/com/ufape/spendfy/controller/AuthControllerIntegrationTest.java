@@ -1,25 +1,44 @@
 package br.com.ufape.spendfy.controller;
 
+import br.com.ufape.spendfy.component.TokenClaims;
+import br.com.ufape.spendfy.component.TokenVerificadoCache;
+import br.com.ufape.spendfy.dto.auth.AlterarSenhaRequest;
 import br.com.ufape.spendfy.dto.auth.LoginRequest;
+import br.com.ufape.spendfy.dto.auth.RefreshRequest;
 import br.com.ufape.spendfy.dto.auth.RegisterRequest;
 import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.StatusUsuario;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
+import br.com.ufape.spendfy.service.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -41,6 +60,18 @@ class AuthControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TokenVerificadoCache tokenCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
 
@@ -60,6 +91,16 @@ class AuthControllerIntegrationTest {
                 .build();
     }
 
+    // Os testes de revogação rodam fora da transação do teste, porque a revogação só chega à memória após o commit
+    @AfterEach
+    void tearDown() {
+        usuarioRepository.findByEmail(registerRequest.getEmail()).ifPresent(usuario -> {
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE id_usuario = ?", usuario.getId());
+            jdbcTemplate.update("DELETE FROM tokens_revogados WHERE id_usuario = ?", usuario.getId());
+            usuarioRepository.delete(usuario);
+        });
+    }
+
     @Test
     @DisplayName("Deve registrar novo usuário com sucesso")
     void deveRegistrarNovoUsuarioComSucesso() throws Exception {
@@ -146,6 +187,7 @@ class AuthControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
                 .andExpect(jsonPath("$.id").exists())
                 .andExpect(jsonPath("$.nome").value("João Silva"))
                 .andExpect(jsonPath("$.email").value("joao@email.com"));
@@ -219,4 +261,261 @@ class AuthControllerIntegrationTest {
         // Deve validar corretamente
         assertThat(passwordEncoder.matches("senha123", usuario.getSenha())).isTrue();
     }
+
+    @Test
+    @DisplayName("Deve autenticar requisição pelo token sem consultar o usuário")
+    void deveAutenticarRequisicaoPeloTokenSemConsultarUsuario() throws Exception {
+        String resposta = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(resposta).get("token").asText();
+        Usuario usuario = usuarioRepository.findByEmail("joao@email.com").orElseThrow();
+
+        TokenClaims claims = jwtService.verificar(token);
+        assertThat(claims.idUsuario()).isEqualTo(usuario.getId());
+        assertThat(claims.subject()).isEqualTo("joao@email.com");
+        assertThat(claims.status()).isEqualTo(StatusUsuario.ATIVO);
+        assertThat(claims.expiracao()).isAfter(Instant.now());
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/contas")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Apenas a listagem de contas; o usuário vem dos claims do token
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Usuario.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar token sem claims de usuário consultando o banco")
+    void deveAceitarTokenSemClaimsDeUsuario() throws Exception {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha(passwordEncoder.encode("senha123"))
+                .status(StatusUsuario.ATIVO)
+                .build());
+        String token = jwtService.generateToken((UserDetails) usuario);
+
+        assertThat(jwtService.verificar(token).possuiUsuario()).isFalse();
+
+        mockMvc.perform(get("/api/contas")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar a verificação de um token repetido")
+    void deveReutilizarVerificacaoDeTokenRepetido() throws Exception {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha(passwordEncoder.encode("senha123"))
+                .status(StatusUsuario.ATIVO)
+                .build());
+        String token = jwtService.generateToken(usuario);
+        long acertosAntes = tokenCache.estatisticas().hitCount();
+        long faltasAntes = tokenCache.estatisticas().missCount();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/contas")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(tokenCache.estatisticas().missCount() - faltasAntes).isEqualTo(1);
+        assertThat(tokenCache.estatisticas().hitCount() - acertosAntes).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar token inválido no cache")
+    void naoDeveArmazenarTokenInvalidoNoCache() throws Exception {
+        long acertosAntes = tokenCache.estatisticas().hitCount();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/contas")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer token.invalido.xyz"))
+                    .andExpect(status().isForbidden());
+        }
+
+        assertThat(tokenCache.estatisticas().hitCount()).isEqualTo(acertosAntes);
+    }
+
+    @Test
+    @DisplayName("Deve refazer o hash da senha no login quando o custo configurado muda")
+    void deveRefazerHashNoLoginQuandoCustoMuda() throws Exception {
+        usuarioRepository.save(Usuario.builder()
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha(new BCryptPasswordEncoder(4).encode("senha123"))
+                .status(StatusUsuario.ATIVO)
+                .build());
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        Usuario usuario = usuarioRepository.findByEmail("joao@email.com").orElseThrow();
+        assertThat(usuario.getSenha()).startsWith("$2a$10$");
+        assertThat(passwordEncoder.matches("senha123", usuario.getSenha())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve renovar tokens com refresh token e rejeitar o reuso do token antigo")
+    void deveRenovarTokensERejeitarReuso() throws Exception {
+        String refreshToken = registrar().get("refreshToken").asText();
+
+        String resposta = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        String novoRefreshToken = objectMapper.readTree(resposta).get("refreshToken").asText();
+        assertThat(novoRefreshToken).isNotEqualTo(refreshToken);
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token inválido"));
+
+        // O reuso revoga todos os refresh tokens do usuário, inclusive o recém-emitido
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(novoRefreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve revogar access e refresh token no logout")
+    void deveRevogarTokensNoLogout() throws Exception {
+        JsonNode sessao = registrar();
+        String token = sessao.get("token").asText();
+        String refreshToken = sessao.get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/contas")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve alterar a senha e revogar os tokens do usuário")
+    void deveAlterarSenhaERevogarTokens() throws Exception {
+        JsonNode sessao = registrar();
+        String token = sessao.get("token").asText();
+        String refreshToken = sessao.get("refreshToken").asText();
+
+        String resposta = mockMvc.perform(put("/api/auth/senha")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AlterarSenhaRequest("senha123", "novaSenha456"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode novaSessao = objectMapper.readTree(resposta);
+
+        mockMvc.perform(get("/api/contas")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        // Tokens emitidos depois da alteração já carregam a versão nova
+        mockMvc.perform(get("/api/contas")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + novaSessao.get("token").asText()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+
+        loginRequest.setSenha("novaSenha456");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve aceitar refresh e login feitos no mesmo segundo da alteração de senha")
+    void deveAceitarRefreshNoMesmoSegundoDaAlteracaoDeSenha() throws Exception {
+        String token = registrar().get("token").asText();
+
+        String resposta = mockMvc.perform(put("/api/auth/senha")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AlterarSenhaRequest("senha123", "novaSenha456"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readTree(resposta).get("refreshToken").asText();
+
+        String renovada = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        loginRequest.setSenha("novaSenha456");
+        String login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // O iat tem precisão de segundos e estes tokens saem no mesmo segundo da troca; só a versão os distingue
+        for (String sessao : new String[]{renovada, login}) {
+            mockMvc.perform(get("/api/contas")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + objectMapper.readTree(sessao).get("token").asText()))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/contas")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve recusar alteração de senha com senha atual incorreta")
+    void deveRecusarAlteracaoDeSenhaComSenhaAtualIncorreta() throws Exception {
+        String token = registrar().get("token").asText();
+
+        mockMvc.perform(put("/api/auth/senha")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AlterarSenhaRequest("errada", "novaSenha456"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Senha atual incorreta"));
+    }
+
+    private JsonNode registrar() throws Exception {
+        String resposta = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
 }
@@ -7,6 +7,9 @@ import br.com.ufape.spendfy.entity.enums.StatusUsuario;
 import br.com.ufape.spendfy.repository.ContaRepository;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -49,6 +52,9 @@ class ContaControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Usuario usuario;
     private ContaRequest contaRequest;
 
@@ -266,4 +272,46 @@ class ContaControllerIntegrationTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.saldoInicial").value(0.00));
     }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve listar contas com número fixo de consultas independentemente da quantidade")
+    void deveListarContasComNumeroFixoDeConsultas() throws Exception {
+        criarContas(1);
+        long consultasComUmaConta = contarConsultasDaListagem();
+
+        criarContas(14);
+        long consultasComVariasContas = contarConsultasDaListagem();
+
+        assertThat(consultasComUmaConta).isEqualTo(2);
+        assertThat(consultasComVariasContas).isEqualTo(consultasComUmaConta);
+    }
+
+    private void criarContas(int quantidade) {
+        long existentes = contaRepository.count();
+        for (int i = 0; i < quantidade; i++) {
+            contaRepository.save(Conta.builder()
+                    .nome("Conta " + (existentes + i))
+                    .tipo("Corrente")
+                    .saldoInicial(BigDecimal.valueOf(100.00))
+                    .usuario(usuario)
+                    .build());
+        }
+    }
+
+    private long contarConsultasDaListagem() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        int totalContas = (int) contaRepository.count();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/contas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(totalContas)));
+
+        return statistics.getPrepareStatementCount();
+    }
 }
@@ -0,0 +1,251 @@
+package br.com.ufape.spendfy.controller;
+
+import br.com.ufape.spendfy.component.DashboardCache;
+import br.com.ufape.spendfy.dto.transacao.TransacaoRequest;
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Orcamento;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.repository.CategoriaRepository;
+import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.OrcamentoRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.repository.UsuarioRepository;
+import br.com.ufape.spendfy.service.ResumoMensalService;
+import br.com.ufape.spendfy.service.SaldoContaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Testes de Integração - DashboardController")
+class DashboardControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private SaldoContaService saldoContaService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        dashboardCache.invalidarTodos();
+        transacaoRepository.deleteAll();
+        orcamentoRepository.deleteAll();
+        contaRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha(passwordEncoder.encode("senha123"))
+                .status(StatusUsuario.ATIVO)
+                .build());
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve consolidar saldo, totais do mês, top categorias e orçamentos ativos")
+    void deveConsolidarDashboard() throws Exception {
+        criarDados(2);
+
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saldoTotal").value(2800.00))
+                .andExpect(jsonPath("$.totalReceitasMes").value(1000.00))
+                .andExpect(jsonPath("$.totalDespesasMes").value(200.00))
+                .andExpect(jsonPath("$.saldoMes").value(800.00))
+                .andExpect(jsonPath("$.topCategorias", hasSize(2)))
+                .andExpect(jsonPath("$.topCategorias[0].percentualDoTotal").value(50.00))
+                .andExpect(jsonPath("$.orcamentosAtivos", hasSize(2)))
+                .andExpect(jsonPath("$.orcamentosAtivos[0].valorGasto").value(100.00))
+                .andExpect(jsonPath("$.orcamentosAtivos[0].valorRestante").value(400.00));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve executar número fixo de consultas independentemente de contas e orçamentos")
+    void deveExecutarNumeroFixoDeConsultas() throws Exception {
+        criarDados(1);
+        long consultasComUmaConta = contarConsultasDoDashboard();
+
+        criarDados(8);
+        dashboardCache.invalidarTodos();
+        long consultasComVariasContas = contarConsultasDoDashboard();
+
+        assertThat(consultasComUmaConta).isEqualTo(5);
+        assertThat(consultasComVariasContas).isEqualTo(consultasComUmaConta);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve servir o dashboard repetido a partir do cache")
+    void deveServirDashboardRepetidoDoCache() throws Exception {
+        criarDados(3);
+        contarConsultasDoDashboard();
+        long acertosAntes = dashboardCache.estatisticas().hitCount();
+
+        long consultas = contarConsultasDoDashboard();
+
+        assertThat(consultas).isEqualTo(1);
+        assertThat(dashboardCache.estatisticas().hitCount()).isEqualTo(acertosAntes + 1);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve invalidar o dashboard em cache ao criar transação")
+    void deveInvalidarDashboardAoCriarTransacao() throws Exception {
+        criarDados(1);
+        Conta conta = contaRepository.findByUsuarioId(usuario.getId()).get(0);
+        Categoria categoria = categoriaRepository.findByUsuarioId(usuario.getId()).get(0);
+
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalDespesasMes").value(100.00));
+
+        TransacaoRequest request = TransacaoRequest.builder()
+                .tipo(TipoTransacao.DESPESA)
+                .data(LocalDate.now())
+                .valor(BigDecimal.valueOf(50.00))
+                .descricao("Padaria")
+                .status(StatusTransacao.CONFIRMADA)
+                .idConta(conta.getId())
+                .idCategoria(categoria.getId())
+                .build();
+        mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saldoTotal").value(1850.00))
+                .andExpect(jsonPath("$.totalDespesasMes").value(150.00))
+                .andExpect(jsonPath("$.orcamentosAtivos[0].valorGasto").value(150.00));
+    }
+
+    private long contarConsultasDoDashboard() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/dashboard")).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void criarDados(int quantidade) {
+        LocalDate hoje = LocalDate.now();
+        YearMonth mesAtual = YearMonth.from(hoje);
+
+        for (int i = 0; i < quantidade; i++) {
+            Conta conta = contaRepository.save(Conta.builder()
+                    .nome("Conta " + i + "-" + System.nanoTime())
+                    .tipo("Corrente")
+                    .saldoInicial(BigDecimal.valueOf(1000.00))
+                    .usuario(usuario)
+                    .build());
+
+            Categoria categoria = categoriaRepository.save(Categoria.builder()
+                    .nome("Categoria " + i + "-" + System.nanoTime())
+                    .cor("verde")
+                    .usuario(usuario)
+                    .build());
+
+            orcamentoRepository.save(Orcamento.builder()
+                    .valorLimite(BigDecimal.valueOf(500.00))
+                    .dataInicio(mesAtual.atDay(1))
+                    .dataFim(mesAtual.atEndOfMonth())
+                    .usuario(usuario)
+                    .categoria(categoria)
+                    .build());
+
+            transacaoRepository.save(transacao(TipoTransacao.DESPESA, 100.00, hoje, conta, categoria));
+            if (i == 0) {
+                transacaoRepository.save(transacao(TipoTransacao.RECEITA, 1000.00, hoje, conta, categoria));
+            }
+        }
+
+        entityManager.flush();
+        saldoContaService.reconciliar();
+        resumoMensalService.reconstruir(usuario.getId());
+    }
+
+    private Transacao transacao(TipoTransacao tipo, double valor, LocalDate data, Conta conta, Categoria categoria) {
+        return Transacao.builder()
+                .tipo(tipo)
+                .data(data)
+                .valor(BigDecimal.valueOf(valor))
+                .status(StatusTransacao.CONFIRMADA)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build();
+    }
+}
@@ -0,0 +1,268 @@
+package br.com.ufape.spendfy.controller;
+
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.repository.CategoriaRepository;
+import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.repository.UsuarioRepository;
+import br.com.ufape.spendfy.service.ClaudeApiService;
+import br.com.ufape.spendfy.service.ResumoMensalService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Testes de Integração - InsightController")
+class InsightControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private ClaudeApiService claudeApiService;
+
+    private Usuario usuario;
+    private Conta conta;
+
+    @BeforeEach
+    void setUp() {
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha(passwordEncoder.encode("senha123"))
+                .status(StatusUsuario.ATIVO)
+                .build());
+
+        conta = contaRepository.save(Conta.builder()
+                .nome("Conta Corrente")
+                .tipo("Corrente")
+                .saldoInicial(BigDecimal.valueOf(1000.00))
+                .usuario(usuario)
+                .build());
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve prever gastos pela média ponderada dos últimos três meses")
+    void devePreverGastosPelaMediaPonderada() throws Exception {
+        Categoria mercado = categoria("Mercado");
+        despesa(mercado, 0, 250.00);
+        despesa(mercado, 1, 300.00);
+        despesa(mercado, 2, 200.00);
+        despesa(mercado, 3, 100.00);
+        despesa(mercado, 4, 5000.00);
+        receita(mercado, 1, 9000.00);
+
+        Categoria lazer = categoria("Lazer");
+        despesa(lazer, 2, 90.00);
+
+        Categoria nova = categoria("Nova");
+        despesa(nova, 0, 50.00);
+
+        resumoMensalService.reconstruir(usuario.getId());
+
+        mockMvc.perform(get("/api/insights/previsao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].nomeCategoria").value("Mercado"))
+                .andExpect(jsonPath("$[0].mediaMensal").value(233.33))
+                .andExpect(jsonPath("$[0].previsaoMesAtual").value(233.33))
+                .andExpect(jsonPath("$[0].gastoAtualMes").value(250.00))
+                .andExpect(jsonPath("$[0].diferenca").value(16.67))
+                .andExpect(jsonPath("$[1].nomeCategoria").value("Lazer"))
+                .andExpect(jsonPath("$[1].mediaMensal").value(90.00))
+                .andExpect(jsonPath("$[1].gastoAtualMes").value(0))
+                .andExpect(jsonPath("$[1].diferenca").value(-90.00));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve prever gastos com número fixo de consultas independentemente das categorias")
+    void devePreverGastosComNumeroFixoDeConsultas() throws Exception {
+        criarCategoriasComHistorico(1);
+        long consultasComUmaCategoria = contarConsultasDaPrevisao();
+
+        criarCategoriasComHistorico(40);
+        long consultasComVariasCategorias = contarConsultasDaPrevisao();
+
+        assertThat(consultasComUmaCategoria).isEqualTo(2);
+        assertThat(consultasComVariasCategorias).isEqualTo(consultasComUmaCategoria);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve consultar cada agregado uma única vez ao gerar o relatório mensal")
+    void deveConsultarCadaAgregadoUmaVezNoRelatorioMensal() throws Exception {
+        Categoria mercado = categoria("Mercado");
+        despesa(mercado, 0, 250.00);
+        despesa(mercado, 1, 300.00);
+        receita(mercado, 0, 1000.00);
+        resumoMensalService.reconstruir(usuario.getId());
+        when(claudeApiService.chat(anyString())).thenReturn("Bom mês!");
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/insights/relatorio-mensal"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resumo").value("Bom mês!"))
+                .andExpect(jsonPath("$.totalReceitas").value(1000.00))
+                .andExpect(jsonPath("$.totalDespesas").value(250.00));
+
+        // usuário + fluxo dos três últimos meses + orçamentos do mês + previsão
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve retornar fluxo mensal dos últimos meses em uma única consulta")
+    void deveRetornarFluxoMensal() throws Exception {
+        Categoria mercado = categoria("Mercado");
+        despesa(mercado, 0, 250.00);
+        receita(mercado, 0, 1000.00);
+        despesa(mercado, 2, 80.00);
+        despesa(mercado, 30, 999.00);
+        resumoMensalService.reconstruir(usuario.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/insights/fluxo-mensal").param("meses", "24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(24)))
+                .andExpect(jsonPath("$[23].mes").value(YearMonth.now().toString()))
+                .andExpect(jsonPath("$[23].receitas").value(1000.00))
+                .andExpect(jsonPath("$[23].despesas").value(250.00))
+                .andExpect(jsonPath("$[23].saldo").value(750.00))
+                .andExpect(jsonPath("$[21].despesas").value(80.00))
+                .andExpect(jsonPath("$[22].saldo").value(0));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve rejeitar fluxo mensal acima de 60 meses")
+    void deveRejeitarFluxoMensalAcimaDoLimite() throws Exception {
+        mockMvc.perform(get("/api/insights/fluxo-mensal").param("meses", "61"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A quantidade de meses deve estar entre 1 e 60"));
+    }
+
+    private void criarCategoriasComHistorico(int quantidade) {
+        long existentes = categoriaRepository.count();
+        for (int i = 0; i < quantidade; i++) {
+            Categoria categoria = categoria("Categoria " + (existentes + i));
+            for (int mesesAtras = 0; mesesAtras <= 3; mesesAtras++) {
+                despesa(categoria, mesesAtras, 10.00 * (mesesAtras + 1));
+            }
+        }
+        entityManager.flush();
+        resumoMensalService.reconstruir(usuario.getId());
+    }
+
+    private long contarConsultasDaPrevisao() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/insights/previsao")).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Categoria categoria(String nome) {
+        return categoriaRepository.save(Categoria.builder()
+                .nome(nome)
+                .cor("verde")
+                .usuario(usuario)
+                .build());
+    }
+
+    private void despesa(Categoria categoria, int mesesAtras, double valor) {
+        transacaoRepository.save(transacao(TipoTransacao.DESPESA, categoria, mesesAtras, valor));
+    }
+
+    private void receita(Categoria categoria, int mesesAtras, double valor) {
+        transacaoRepository.save(transacao(TipoTransacao.RECEITA, categoria, mesesAtras, valor));
+    }
+
+    private Transacao transacao(TipoTransacao tipo, Categoria categoria, int mesesAtras, double valor) {
+        return Transacao.builder()
+                .tipo(tipo)
+                .data(LocalDate.now().minusMonths(mesesAtras).withDayOfMonth(1))
+                .valor(BigDecimal.valueOf(valor))
+                .status(StatusTransacao.CONFIRMADA)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build();
+    }
+}
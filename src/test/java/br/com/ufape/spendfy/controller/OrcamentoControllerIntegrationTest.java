@@ -2,13 +2,22 @@ package br.com.ufape.spendfy.controller;
 
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoRequest;
 import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
 import br.com.ufape.spendfy.entity.Orcamento;
+import br.com.ufape.spendfy.entity.Transacao;
 import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
 import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
 import br.com.ufape.spendfy.repository.CategoriaRepository;
+import br.com.ufape.spendfy.repository.ContaRepository;
 import br.com.ufape.spendfy.repository.OrcamentoRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -49,19 +58,30 @@ class OrcamentoControllerIntegrationTest {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Usuario usuario;
     private Categoria categoria;
     private OrcamentoRequest orcamentoRequest;
 
     @BeforeEach
     void setUp() {
+        transacaoRepository.deleteAll();
         orcamentoRepository.deleteAll();
+        contaRepository.deleteAll();
         categoriaRepository.deleteAll();
         usuarioRepository.deleteAll();
 
@@ -274,4 +294,81 @@ class OrcamentoControllerIntegrationTest {
         mockMvc.perform(get("/api/orcamentos/{id}", 999L))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve resumir orçamentos com valor gasto dentro da janela de cada um")
+    void deveResumirOrcamentosComValorGasto() throws Exception {
+        criarOrcamentosComDespesas();
+
+        mockMvc.perform(get("/api/orcamentos/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orcamentos", hasSize(2)))
+                .andExpect(jsonPath("$.totalLimite").value(1040.00))
+                .andExpect(jsonPath("$.totalGasto").value(350.00))
+                .andExpect(jsonPath("$.totalRestante").value(690.00))
+                .andExpect(jsonPath("$.quantidadeUltrapassados").value(1))
+                .andExpect(jsonPath("$.orcamentos[?(@.valorLimite == 1000.0)].valorGasto").value(300.00))
+                .andExpect(jsonPath("$.orcamentos[?(@.valorLimite == 40.0)].valorGasto").value(50.00));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve resumir orçamentos com número fixo de consultas")
+    void deveResumirOrcamentosComNumeroFixoDeConsultas() throws Exception {
+        criarOrcamentosComDespesas();
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/orcamentos/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orcamentos", hasSize(2)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private void criarOrcamentosComDespesas() {
+        Conta conta = contaRepository.save(Conta.builder()
+                .nome("Conta Corrente")
+                .tipo("Corrente")
+                .saldoInicial(BigDecimal.valueOf(1000.00))
+                .usuario(usuario)
+                .build());
+
+        orcamentoRepository.save(Orcamento.builder()
+                .valorLimite(BigDecimal.valueOf(1000.00))
+                .dataInicio(LocalDate.of(2024, 1, 1))
+                .dataFim(LocalDate.of(2024, 1, 31))
+                .usuario(usuario)
+                .categoria(categoria)
+                .build());
+        orcamentoRepository.save(Orcamento.builder()
+                .valorLimite(BigDecimal.valueOf(40.00))
+                .dataInicio(LocalDate.of(2024, 2, 1))
+                .dataFim(LocalDate.of(2024, 2, 29))
+                .usuario(usuario)
+                .categoria(categoria)
+                .build());
+
+        transacaoRepository.save(transacao(TipoTransacao.DESPESA, 300.00, LocalDate.of(2024, 1, 10), conta));
+        transacaoRepository.save(transacao(TipoTransacao.RECEITA, 800.00, LocalDate.of(2024, 1, 15), conta));
+        transacaoRepository.save(transacao(TipoTransacao.DESPESA, 50.00, LocalDate.of(2024, 2, 5), conta));
+        transacaoRepository.save(transacao(TipoTransacao.DESPESA, 70.00, LocalDate.of(2024, 3, 1), conta));
+    }
+
+    private Transacao transacao(TipoTransacao tipo, double valor, LocalDate data, Conta conta) {
+        return Transacao.builder()
+                .tipo(tipo)
+                .data(data)
+                .valor(BigDecimal.valueOf(valor))
+                .status(StatusTransacao.CONFIRMADA)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build();
+    }
 }
@@ -0,0 +1,330 @@
+package br.com.ufape.spendfy.controller;
+
+import br.com.ufape.spendfy.dto.sincronizacao.TokenSincronizacao;
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.Orcamento;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.repository.CategoriaRepository;
+import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.OrcamentoRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Testes de Integração - SincronizacaoController")
+class SincronizacaoControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Usuario usuario;
+    private Conta conta;
+    private Categoria alimentacao;
+    private Categoria lazer;
+    private Transacao mercado;
+    private Transacao cinema;
+    private Orcamento orcamentoLazer;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha("senha")
+                .status(StatusUsuario.ATIVO)
+                .build());
+        conta = contaRepository.save(Conta.builder()
+                .nome("Conta Corrente")
+                .tipo("Corrente")
+                .saldoInicial(BigDecimal.valueOf(1000.00))
+                .usuario(usuario)
+                .build());
+        alimentacao = categoriaRepository.save(Categoria.builder().nome("Alimentação").usuario(usuario).build());
+        lazer = categoriaRepository.save(Categoria.builder().nome("Lazer").usuario(usuario).build());
+        mercado = salvarTransacao("Mercado", alimentacao);
+        cinema = salvarTransacao("Cinema", lazer);
+        orcamentoLazer = orcamentoRepository.save(Orcamento.builder()
+                .valorLimite(BigDecimal.valueOf(200.00))
+                .dataInicio(LocalDate.now().withDayOfMonth(1))
+                .dataFim(LocalDate.now().withDayOfMonth(1).plusMonths(1).minusDays(1))
+                .usuario(usuario)
+                .categoria(lazer)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve devolver uma cópia completa na primeira sincronização")
+    void deveDevolverCopiaCompletaSemToken() throws Exception {
+        JsonNode resposta = sincronizar(null);
+
+        assertThat(resposta.get("completo").asBoolean()).isTrue();
+        assertThat(ids(resposta.get("transacoes"))).containsExactlyInAnyOrder(mercado.getId(), cinema.getId());
+        assertThat(ids(resposta.get("contas"))).containsExactly(conta.getId());
+        assertThat(ids(resposta.get("categorias"))).containsExactlyInAnyOrder(alimentacao.getId(), lazer.getId());
+        assertThat(ids(resposta.get("orcamentos"))).containsExactly(orcamentoLazer.getId());
+        assertThat(resposta.get("exclusoes").get("transacoes")).isEmpty();
+        assertThat(resposta.get("proximoToken").asText()).isNotBlank();
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve devolver só o que mudou desde o token, com exclusões inclusive em cascata")
+    void deveDevolverSoAlteracoesDesdeToken() throws Exception {
+        envelhecerDados();
+        String token = new TokenSincronizacao(LocalDateTime.now().minusMinutes(30)).codificar();
+
+        mockMvc.perform(put("/api/categorias/" + alimentacao.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Mercado\", \"cor\": \"verde\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/categorias/" + lazer.getId()))
+                .andExpect(status().isNoContent());
+
+        JsonNode resposta = sincronizar(token);
+
+        assertThat(resposta.get("completo").asBoolean()).isFalse();
+        assertThat(ids(resposta.get("transacoes"))).isEmpty();
+        assertThat(ids(resposta.get("categorias"))).containsExactly(alimentacao.getId());
+        // O estorno das transações da categoria excluída mexe no saldo da conta
+        assertThat(ids(resposta.get("contas"))).containsExactly(conta.getId());
+        JsonNode exclusoes = resposta.get("exclusoes");
+        assertThat(ids(exclusoes.get("categorias"))).containsExactly(lazer.getId());
+        assertThat(ids(exclusoes.get("transacoes"))).containsExactly(cinema.getId());
+        assertThat(ids(exclusoes.get("orcamentos"))).containsExactly(orcamentoLazer.getId());
+        assertThat(ids(exclusoes.get("contas"))).isEmpty();
+        assertThat(ids(resposta.get("orcamentos"))).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve repassar transações criadas e excluídas e reenviar os orçamentos afetados")
+    void deveRepassarTransacoesCriadasEExcluidas() throws Exception {
+        envelhecerDados();
+        String token = new TokenSincronizacao(LocalDateTime.now().minusMinutes(30)).codificar();
+
+        String criada = mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"tipo": "DESPESA", "data": "%s", "valor": 30.00, "descricao": "Teatro",
+                                 "status": "CONFIRMADA", "idConta": %d, "idCategoria": %d}
+                                """.formatted(LocalDate.now(), conta.getId(), lazer.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long idCriada = objectMapper.readTree(criada).get("id").asLong();
+        mockMvc.perform(delete("/api/transacoes/" + mercado.getId()))
+                .andExpect(status().isNoContent());
+
+        JsonNode resposta = sincronizar(token);
+
+        assertThat(ids(resposta.get("transacoes"))).containsExactly(idCriada);
+        assertThat(ids(resposta.get("exclusoes").get("transacoes"))).containsExactly(mercado.getId());
+        assertThat(ids(resposta.get("contas"))).containsExactly(conta.getId());
+        assertThat(ids(resposta.get("orcamentos"))).containsExactly(orcamentoLazer.getId());
+        assertThat(resposta.get("orcamentos").get(0).get("valorGasto").decimalValue())
+                .isEqualByComparingTo(BigDecimal.valueOf(40.00));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve reenviar só os orçamentos da categoria e do período das transações alteradas ou excluídas")
+    void deveReenviarSoOrcamentosAfetados() throws Exception {
+        Orcamento orcamentoAlimentacao = salvarOrcamento(alimentacao, LocalDate.now().withDayOfMonth(1));
+        Orcamento alimentacaoAnterior = salvarOrcamento(alimentacao, LocalDate.now().withDayOfMonth(1).minusMonths(1));
+        envelhecerDados();
+        String token = new TokenSincronizacao(LocalDateTime.now().minusMinutes(30)).codificar();
+
+        mockMvc.perform(delete("/api/transacoes/" + mercado.getId()))
+                .andExpect(status().isNoContent());
+
+        JsonNode resposta = sincronizar(token);
+
+        assertThat(ids(resposta.get("exclusoes").get("transacoes"))).containsExactly(mercado.getId());
+        assertThat(ids(resposta.get("orcamentos"))).containsExactly(orcamentoAlimentacao.getId());
+        assertThat(ids(resposta.get("orcamentos"))).doesNotContain(orcamentoLazer.getId(), alimentacaoAnterior.getId());
+        assertThat(resposta.get("orcamentos").get(0).get("valorGasto").decimalValue())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve reenviar os orçamentos das categorias anterior e nova quando a transação muda de categoria")
+    void deveReenviarOrcamentosAoMudarCategoria() throws Exception {
+        Orcamento orcamentoAlimentacao = salvarOrcamento(alimentacao, LocalDate.now().withDayOfMonth(1));
+        envelhecerDados();
+        String token = new TokenSincronizacao(LocalDateTime.now().minusMinutes(30)).codificar();
+
+        mockMvc.perform(put("/api/transacoes/" + cinema.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"tipo": "DESPESA", "data": "%s", "valor": 10.00, "descricao": "Cinema",
+                                 "status": "CONFIRMADA", "idConta": %d, "idCategoria": %d}
+                                """.formatted(LocalDate.now(), conta.getId(), alimentacao.getId())))
+                .andExpect(status().isOk());
+
+        JsonNode resposta = sincronizar(token);
+
+        assertThat(ids(resposta.get("transacoes"))).containsExactly(cinema.getId());
+        assertThat(ids(resposta.get("orcamentos")))
+                .containsExactlyInAnyOrder(orcamentoAlimentacao.getId(), orcamentoLazer.getId());
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve custar o mesmo número de consultas quando nada mudou, independente do volume")
+    void deveTerCustoProporcionalAsAlteracoes() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            salvarTransacao("Despesa " + i, alimentacao);
+        }
+        envelhecerDados();
+        String token = new TokenSincronizacao(LocalDateTime.now().minusMinutes(30)).codificar();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JsonNode resposta = sincronizar(token);
+
+        assertThat(resposta.get("transacoes")).isEmpty();
+        assertThat(resposta.get("contas")).isEmpty();
+        assertThat(resposta.get("categorias")).isEmpty();
+        assertThat(resposta.get("orcamentos")).isEmpty();
+        // Usuário, transações, exclusões, orçamentos, contas e categorias: uma consulta cada
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        assertThat(statistics.getEntityStatistics(Transacao.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve devolver cópia completa quando o token é mais antigo que a retenção das exclusões")
+    void deveDevolverCopiaCompletaParaTokenExpirado() throws Exception {
+        String token = new TokenSincronizacao(LocalDateTime.now().minusDays(365)).codificar();
+
+        JsonNode resposta = sincronizar(token);
+
+        assertThat(resposta.get("completo").asBoolean()).isTrue();
+        assertThat(resposta.get("transacoes")).hasSize(2);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve rejeitar token inválido")
+    void deveRejeitarTokenInvalido() throws Exception {
+        mockMvc.perform(get("/api/sync").param("since", "nao-e-um-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Token de sincronização inválido"));
+    }
+
+    private JsonNode sincronizar(String token) throws Exception {
+        var requisicao = get("/api/sync");
+        if (token != null) {
+            requisicao.param("since", token);
+        }
+        String corpo = mockMvc.perform(requisicao)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo);
+    }
+
+    // Simula dados gravados antes do último token
+    private void envelhecerDados() {
+        entityManager.flush();
+        LocalDateTime antes = LocalDateTime.now().minusHours(1);
+        for (String tabela : List.of("transacoes", "contas", "categorias", "orcamentos")) {
+            jdbcTemplate.update("UPDATE " + tabela + " SET data_atualizacao = ?", antes);
+        }
+        entityManager.clear();
+    }
+
+    private Orcamento salvarOrcamento(Categoria categoria, LocalDate inicio) {
+        return orcamentoRepository.save(Orcamento.builder()
+                .valorLimite(BigDecimal.valueOf(300.00))
+                .dataInicio(inicio)
+                .dataFim(inicio.plusMonths(1).minusDays(1))
+                .usuario(usuario)
+                .categoria(categoria)
+                .build());
+    }
+
+    private Transacao salvarTransacao(String descricao, Categoria categoria) {
+        return transacaoRepository.save(Transacao.builder()
+                .tipo(TipoTransacao.DESPESA)
+                .data(LocalDate.now())
+                .valor(BigDecimal.valueOf(10.00))
+                .descricao(descricao)
+                .status(StatusTransacao.CONFIRMADA)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build());
+    }
+
+    private static List<Long> ids(JsonNode nos) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode no : nos) {
+            ids.add(no.isObject() ? no.get("id").asLong() : no.asLong());
+        }
+        return ids;
+    }
+}
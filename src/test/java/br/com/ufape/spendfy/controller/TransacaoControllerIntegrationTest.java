@@ -1,5 +1,7 @@
 package br.com.ufape.spendfy.controller;
 
+import br.com.ufape.spendfy.component.ContagemTransacoesCache;
+import br.com.ufape.spendfy.component.IndiceBuscaTransacoes;
 import br.com.ufape.spendfy.dto.transacao.TransacaoRequest;
 import br.com.ufape.spendfy.entity.Categoria;
 import br.com.ufape.spendfy.entity.Conta;
@@ -12,7 +14,11 @@ import br.com.ufape.spendfy.repository.CategoriaRepository;
 import br.com.ufape.spendfy.repository.ContaRepository;
 import br.com.ufape.spendfy.repository.TransacaoRepository;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,16 +26,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -62,6 +76,15 @@ class TransacaoControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ContagemTransacoesCache contagemCache;
+
+    @Autowired
+    private IndiceBuscaTransacoes indiceBusca;
+
     private Usuario usuario;
     private Conta conta;
     private Categoria categoria;
@@ -73,6 +96,8 @@ class TransacaoControllerIntegrationTest {
         contaRepository.deleteAll();
         categoriaRepository.deleteAll();
         usuarioRepository.deleteAll();
+        contagemCache.invalidarTodos();
+        indiceBusca.invalidarTodos();
 
         usuario = Usuario.builder()
                 .nome("João Silva")
@@ -130,6 +155,37 @@ class TransacaoControllerIntegrationTest {
         assertThat(transacaoRepository.count()).isEqualTo(1);
     }
 
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve manter o saldo da conta ao criar, atualizar e deletar transações")
+    void deveManterSaldoDaContaAoCriarAtualizarEDeletar() throws Exception {
+        String body = mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transacaoRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long idTransacao = objectMapper.readTree(body).get("id").asLong();
+
+        mockMvc.perform(get("/api/contas/{id}", conta.getId()))
+                .andExpect(jsonPath("$.saldoAtual").value(950.00));
+
+        transacaoRequest.setTipo(TipoTransacao.RECEITA);
+        transacaoRequest.setValor(BigDecimal.valueOf(200.00));
+        mockMvc.perform(put("/api/transacoes/{id}", idTransacao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transacaoRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/contas/{id}", conta.getId()))
+                .andExpect(jsonPath("$.saldoAtual").value(1200.00));
+
+        mockMvc.perform(delete("/api/transacoes/{id}", idTransacao))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/contas/{id}", conta.getId()))
+                .andExpect(jsonPath("$.saldoAtual").value(1000.00));
+    }
+
     @Test
     @WithMockUser(username = "joao@email.com")
     @DisplayName("Deve criar transação de receita")
@@ -403,4 +459,644 @@ class TransacaoControllerIntegrationTest {
                 .andExpect(jsonPath("$.dataCadastro").exists())
                 .andExpect(jsonPath("$.dataAtualizacao").exists());
     }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve percorrer todas as transações por cursor sem repetir nem pular")
+    void devePercorrerTransacoesPorCursor() throws Exception {
+        List<Transacao> criadas = criarTransacoes(25);
+        List<Long> esperados = criadas.stream()
+                .sorted(Comparator.comparing(Transacao::getData).thenComparing(Transacao::getId).reversed())
+                .map(Transacao::getId)
+                .toList();
+
+        List<Long> recebidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            JsonNode pagina = buscarPaginaPorCursor(cursor, 10);
+            pagina.get("conteudo").forEach(t -> recebidos.add(t.get("id").asLong()));
+            cursor = pagina.get("temMais").asBoolean() ? pagina.get("proximoCursor").asText() : null;
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(paginas).isEqualTo(3);
+        assertThat(recebidos).containsExactlyElementsOf(esperados);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve aplicar filtros na listagem por cursor")
+    void deveAplicarFiltrosNaListagemPorCursor() throws Exception {
+        criarTransacoes(6);
+        transacaoRepository.save(Transacao.builder()
+                .tipo(TipoTransacao.RECEITA)
+                .data(LocalDate.now())
+                .valor(BigDecimal.valueOf(1000.00))
+                .descricao("Salário")
+                .status(StatusTransacao.CONFIRMADA)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build());
+
+        mockMvc.perform(get("/api/transacoes/cursor")
+                        .param("tipo", "RECEITA")
+                        .param("tamanho", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].descricao").value("Salário"))
+                .andExpect(jsonPath("$.temMais").value(false))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve rejeitar cursor inválido e tamanho fora do limite")
+    void deveRejeitarCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/transacoes/cursor").param("cursor", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor inválido"));
+
+        mockMvc.perform(get("/api/transacoes/cursor").param("tamanho", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve buscar página profunda com as mesmas consultas da primeira e sem count")
+    void deveBuscarPaginaProfundaSemCount() throws Exception {
+        criarTransacoes(40);
+        JsonNode primeira = buscarPaginaPorCursor(null, 30);
+        String cursor = primeira.get("proximoCursor").asText();
+
+        long consultasPrimeira = contarConsultasDaPagina(null);
+        long consultasProfunda = contarConsultasDaPagina(cursor);
+
+        assertThat(consultasProfunda).isEqualTo(consultasPrimeira);
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.getQueries()).noneMatch(q -> q.toLowerCase().contains("count("));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve listar sem total informando se há próxima página")
+    void deveListarSemTotal() throws Exception {
+        criarTransacoes(25);
+
+        mockMvc.perform(get("/api/transacoes")
+                        .param("total", "false")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(10)))
+                .andExpect(jsonPath("$.pagina").value(1))
+                .andExpect(jsonPath("$.tamanho").value(10))
+                .andExpect(jsonPath("$.temMais").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/api/transacoes")
+                        .param("total", "false")
+                        .param("page", "2")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(5)))
+                .andExpect(jsonPath("$.temMais").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve reaproveitar o total em cache e contar de novo após uma escrita")
+    void deveReaproveitarTotalEmCache() throws Exception {
+        criarTransacoes(25);
+
+        long comContagem = contarConsultasDaListagem("true", 25);
+        long comTotalEmCache = contarConsultasDaListagem("true", 25);
+        long semTotal = contarConsultasDaListagem("false", null);
+
+        assertThat(comTotalEmCache).isEqualTo(comContagem - 1);
+        assertThat(semTotal).isEqualTo(comTotalEmCache);
+
+        mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transacaoRequest)))
+                .andExpect(status().isCreated());
+
+        assertThat(contarConsultasDaListagem("true", 26)).isEqualTo(comContagem);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve listar transações de várias contas e categorias numa única consulta")
+    void deveListarTransacoesNumaUnicaConsulta() throws Exception {
+        criarTransacoesEmVariasContasECategorias(30);
+
+        // Uma consulta resolve o usuário autenticado; a listagem em si é um único SELECT, mais o count no modo paginado
+        assertThat(contarConsultas(get("/api/transacoes").param("size", "10"))).isEqualTo(3);
+        assertThat(contarConsultas(get("/api/transacoes").param("size", "10").param("tipo", "DESPESA"))).isEqualTo(3);
+        assertThat(contarConsultas(get("/api/transacoes").param("size", "10").param("total", "false"))).isEqualTo(2);
+        assertThat(contarConsultas(get("/api/transacoes/cursor").param("tamanho", "10"))).isEqualTo(2);
+        assertThat(contarConsultas(get("/api/relatorios/csv"))).isEqualTo(2);
+        assertThat(contarConsultas(get("/api/transacoes/export.ndjson"))).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve exportar o histórico em NDJSON, uma transação por linha, da mais antiga para a mais recente")
+    void deveExportarTransacoesEmNdjson() throws Exception {
+        criarTransacoes(7);
+
+        var resultado = mockMvc.perform(get("/api/transacoes/export.ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("transacoes.ndjson")))
+                .andReturn();
+
+        String[] linhas = resultado.getResponse().getContentAsString().split("\n");
+        assertThat(linhas).hasSize(7);
+
+        List<JsonNode> transacoes = new ArrayList<>();
+        for (String linha : linhas) {
+            transacoes.add(objectMapper.readTree(linha));
+        }
+        assertThat(transacoes.get(0).get("descricao").asText()).isEqualTo("Despesa 6");
+        assertThat(transacoes.get(6).get("descricao").asText()).isEqualTo("Despesa 2");
+        assertThat(transacoes.get(0).get("nomeConta").asText()).isEqualTo("Conta Corrente");
+        assertThat(transacoes).isSortedAccordingTo(Comparator
+                .comparing((JsonNode t) -> LocalDate.parse(t.get("data").asText()))
+                .thenComparingLong(t -> t.get("id").asLong()));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve aplicar os filtros da listagem na exportação NDJSON sem carregar entidades")
+    void deveAplicarFiltrosNaExportacaoNdjson() throws Exception {
+        criarTransacoes(9);
+        salvarTransacao("Salário", null, TipoTransacao.RECEITA, LocalDate.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String corpo = mockMvc.perform(get("/api/transacoes/export.ndjson")
+                        .param("tipo", "DESPESA")
+                        .param("dataInicio", LocalDate.now().minusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo.lines()).hasSize(6)
+                .allSatisfy(linha -> assertThat(linha).contains("\"tipo\":\"DESPESA\""));
+        // As linhas vêm de uma projeção: nenhuma Transacao passa pelo contexto de persistência
+        assertThat(statistics.getEntityStatistics(Transacao.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve exportar NDJSON vazio quando não há transações")
+    void deveExportarNdjsonVazio() throws Exception {
+        mockMvc.perform(get("/api/transacoes/export.ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve buscar transações por texto com tolerância a erros e ordem de relevância")
+    void deveBuscarTransacoesPorTexto() throws Exception {
+        salvarTransacao("Supermercado Extra", "Compras do mês", TipoTransacao.DESPESA, LocalDate.now().minusDays(2));
+        salvarTransacao("Farmácia", "Remédios", TipoTransacao.DESPESA, LocalDate.now().minusDays(1));
+        salvarTransacao("Mercado do bairro", null, TipoTransacao.DESPESA, LocalDate.now());
+        salvarTransacao("Salário", "Pagamento da empresa", TipoTransacao.RECEITA, LocalDate.now());
+
+        mockMvc.perform(get("/api/transacoes/busca").param("q", "supermecado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].descricao").value("Supermercado Extra"))
+                .andExpect(jsonPath("$[0].nomeConta").value("Conta Corrente"));
+
+        mockMvc.perform(get("/api/transacoes/busca").param("q", "mercado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].descricao", contains("Mercado do bairro", "Supermercado Extra")));
+
+        mockMvc.perform(get("/api/transacoes/busca").param("q", "remedio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].descricao").value("Farmácia"));
+
+        mockMvc.perform(get("/api/transacoes/busca").param("q", "empresa").param("tipo", "DESPESA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve encontrar transação criada depois da primeira busca")
+    void deveEncontrarTransacaoCriadaAposBusca() throws Exception {
+        mockMvc.perform(get("/api/transacoes/busca").param("q", "supermercado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transacaoRequest)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/transacoes/busca").param("q", "supermercado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve rejeitar busca curta demais")
+    void deveRejeitarBuscaCurta() throws Exception {
+        mockMvc.perform(get("/api/transacoes/busca").param("q", " a "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A busca deve ter ao menos 2 caracteres"));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve criar transações em lote com INSERTs agrupados e um ajuste de saldo por conta")
+    void deveCriarTransacoesEmLote() throws Exception {
+        List<TransacaoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            itens.add(TransacaoRequest.builder()
+                    .tipo(i % 4 == 0 ? TipoTransacao.RECEITA : TipoTransacao.DESPESA)
+                    .data(LocalDate.now().minusDays(i % 40))
+                    .valor(BigDecimal.valueOf(5.00))
+                    .descricao("Lote " + i)
+                    .status(StatusTransacao.CONFIRMADA)
+                    .idConta(conta.getId())
+                    .idCategoria(categoria.getId())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/transacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("transacoes", itens))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(120)))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[0].nomeConta").value("Conta Corrente"));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityStatistics(Transacao.class.getName()).getInsertCount()).isEqualTo(120);
+        // Uma consulta por tipo de entidade referenciada, poucos blocos da sequência, INSERTs em lotes de 50,
+        // um UPDATE de saldo e um acúmulo por mês no resumo, em vez de um INSERT e dois UPDATEs por transação
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        entityManager.clear();
+        // 30 receitas e 90 despesas de 5,00
+        assertThat(contaRepository.findById(conta.getId()).orElseThrow().getSaldoAtual())
+                .isEqualByComparingTo(BigDecimal.valueOf(700.00));
+        assertThat(transacaoRepository.count()).isEqualTo(120);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve recusar o lote inteiro quando uma conta é de outro usuário")
+    void deveRecusarLoteComContaDeOutroUsuario() throws Exception {
+        Usuario outro = usuarioRepository.save(Usuario.builder()
+                .nome("Maria")
+                .email("maria@email.com")
+                .senha("senha")
+                .status(StatusUsuario.ATIVO)
+                .build());
+        Conta contaDeOutro = contaRepository.save(Conta.builder()
+                .nome("Conta da Maria")
+                .tipo("Corrente")
+                .saldoInicial(BigDecimal.valueOf(1000.00))
+                .usuario(outro)
+                .build());
+        TransacaoRequest outroItem = TransacaoRequest.builder()
+                .tipo(TipoTransacao.DESPESA)
+                .data(LocalDate.now())
+                .valor(BigDecimal.valueOf(10.00))
+                .status(StatusTransacao.CONFIRMADA)
+                .idConta(contaDeOutro.getId())
+                .idCategoria(categoria.getId())
+                .build();
+
+        mockMvc.perform(post("/api/transacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("transacoes", List.of(transacaoRequest, outroItem)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Conta não pertence ao usuário autenticado"));
+
+        assertThat(transacaoRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve conferir o saldo contra o total do lote por conta")
+    void deveConferirSaldoContraTotalDoLote() throws Exception {
+        transacaoRequest.setValor(BigDecimal.valueOf(600.00));
+
+        mockMvc.perform(post("/api/transacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("transacoes", List.of(transacaoRequest, transacaoRequest)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Saldo insuficiente na conta Conta Corrente")));
+
+        assertThat(transacaoRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve validar os itens e rejeitar lote vazio")
+    void deveValidarItensDoLote() throws Exception {
+        mockMvc.perform(post("/api/transacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transacoes\": []}"))
+                .andExpect(status().isBadRequest());
+
+        transacaoRequest.setValor(null);
+        mockMvc.perform(post("/api/transacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("transacoes", List.of(transacaoRequest)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve importar extrato CSV em lotes, reportando progresso e erros por linha")
+    void deveImportarExtratoCsvEmLotes() throws Exception {
+        Categoria lazer = categoriaRepository.save(Categoria.builder().nome("Lazer").usuario(usuario).build());
+        StringBuilder csv = new StringBuilder("\uFEFFData;Descrição;Valor;Categoria\n");
+        csv.append("32/01/2024;Data inexistente;-10,00;\n");
+        csv.append("05/01/2024;\"Cinema; pipoca\";-123,45;LAZER\n");
+        csv.append("05/01/2024;Sem valor;;\n");
+        for (int i = 0; i < 2_500; i++) {
+            csv.append("10/01/2024;Item ").append(i).append(';').append(i % 2 == 0 ? "2,00" : "-1,00").append(";\n");
+        }
+        csv.append("11/01/2024;Compra grande;-999.999,00;\n");
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<JsonNode> eventos = importar(new MockMultipartFile("arquivo", "extrato.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8)), Map.of("colunaCategoria", "categoria"));
+        entityManager.flush();
+
+        assertThat(eventos).filteredOn(e -> e.get("evento").asText().equals("ERRO"))
+                .extracting(e -> e.get("linha").asLong(), e -> e.get("mensagem").asText())
+                .containsExactly(
+                        tuple(2L, "Data inválida: 32/01/2024"),
+                        tuple(4L, "Valor ausente"),
+                        tuple(2_505L, "Saldo insuficiente na conta Conta Corrente. Saldo disponível: R$ 2126.55"));
+        assertThat(eventos).filteredOn(e -> e.get("evento").asText().equals("PROGRESSO"))
+                .extracting(e -> e.get("importadas").asLong())
+                .containsExactly(1_000L, 2_000L, 2_501L);
+        JsonNode resumo = eventos.get(eventos.size() - 1);
+        assertThat(resumo.get("evento").asText()).isEqualTo("CONCLUIDO");
+        assertThat(resumo.get("linhasLidas").asLong()).isEqualTo(2_504);
+        assertThat(resumo.get("importadas").asLong()).isEqualTo(2_501);
+        assertThat(resumo.get("rejeitadas").asLong()).isEqualTo(3);
+        assertThat(resumo.get("errosOmitidos").asLong()).isZero();
+
+        assertThat(statistics.getEntityStatistics(Transacao.class.getName()).getInsertCount()).isEqualTo(2_501);
+        // INSERTs em lotes de 50 e blocos de 50 ids da sequência; saldo e resumo uma vez por lote gravado
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(250);
+        entityManager.clear();
+        // 1000 - 123,45 + 1250 × 2,00 - 1250 × 1,00
+        assertThat(contaRepository.findById(conta.getId()).orElseThrow().getSaldoAtual())
+                .isEqualByComparingTo(new BigDecimal("2126.55"));
+        Transacao cinema = transacaoRepository.findAll().stream()
+                .filter(t -> t.getDescricao().startsWith("Cinema")).findFirst().orElseThrow();
+        assertThat(cinema.getDescricao()).isEqualTo("Cinema; pipoca");
+        assertThat(cinema.getTipo()).isEqualTo(TipoTransacao.DESPESA);
+        assertThat(cinema.getCategoria().getId()).isEqualTo(lazer.getId());
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve importar extrato OFX deduzindo o formato pela extensão")
+    void deveImportarExtratoOfx() throws Exception {
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+                VERSION:102
+
+                <OFX>
+                <BANKMSGSRSV1><STMTTRNRS><STMTRS>
+                <BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240105120000[-3:BRT]
+                <TRNAMT>-50.00
+                <FITID>1
+                <MEMO>Padaria &amp; Café
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20240106
+                <TRNAMT>1500,00
+                <FITID>2
+                <NAME>Salário
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>2024XX07
+                <TRNAMT>-5.00
+                </STMTTRN>
+                </BANKTRANLIST>
+                </STMTRS></STMTTRNRS></BANKMSGSRSV1>
+                </OFX>
+                """;
+
+        List<JsonNode> eventos = importar(new MockMultipartFile("arquivo", "extrato.OFX", "application/x-ofx",
+                ofx.getBytes(StandardCharsets.UTF_8)), Map.of());
+
+        assertThat(eventos.get(0).get("evento").asText()).isEqualTo("ERRO");
+        assertThat(eventos.get(0).get("linha").asLong()).isEqualTo(22);
+        JsonNode resumo = eventos.get(eventos.size() - 1);
+        assertThat(resumo.get("evento").asText()).isEqualTo("CONCLUIDO");
+        assertThat(resumo.get("importadas").asLong()).isEqualTo(2);
+        assertThat(resumo.get("rejeitadas").asLong()).isEqualTo(1);
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(transacaoRepository.findAll())
+                .extracting(Transacao::getDescricao, Transacao::getTipo)
+                .containsExactlyInAnyOrder(
+                        tuple("Padaria & Café", TipoTransacao.DESPESA),
+                        tuple("Salário", TipoTransacao.RECEITA));
+        assertThat(contaRepository.findById(conta.getId()).orElseThrow().getSaldoAtual())
+                .isEqualByComparingTo(BigDecimal.valueOf(2450.00));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("Deve recusar a importação antes de ler o arquivo quando a configuração é inválida")
+    void deveRecusarImportacaoComConfiguracaoInvalida() throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "extrato.csv", "text/csv",
+                "Data;Histórico;Valor\n05/01/2024;Padaria;-5,00\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/transacoes/importar").file(arquivo)
+                        .param("idConta", String.valueOf(conta.getId()))
+                        .param("idCategoria", String.valueOf(categoria.getId())))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Coluna 'descricao' não encontrada no cabeçalho do arquivo"));
+
+        mockMvc.perform(multipart("/api/transacoes/importar").file(arquivo)
+                        .param("idCategoria", String.valueOf(categoria.getId())))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(multipart("/api/transacoes/importar")
+                        .file(new MockMultipartFile("arquivo", "extrato.pdf", "application/pdf", new byte[]{1}))
+                        .param("idConta", String.valueOf(conta.getId()))
+                        .param("idCategoria", String.valueOf(categoria.getId())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Formato do arquivo não reconhecido")));
+
+        assertThat(transacaoRepository.count()).isZero();
+    }
+
+    private List<Transacao> criarTransacoes(int quantidade) {
+        List<Transacao> transacoes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            // Várias transações por dia para exercitar o desempate por id
+            transacoes.add(Transacao.builder()
+                    .tipo(TipoTransacao.DESPESA)
+                    .data(LocalDate.now().minusDays(i / 3))
+                    .valor(BigDecimal.valueOf(10.00 + i))
+                    .descricao("Despesa " + i)
+                    .status(StatusTransacao.CONFIRMADA)
+                    .usuario(usuario)
+                    .conta(conta)
+                    .categoria(categoria)
+                    .build());
+        }
+        return transacaoRepository.saveAll(transacoes);
+    }
+
+    private List<JsonNode> importar(MockMultipartFile arquivo, Map<String, String> opcoes) throws Exception {
+        var requisicao = multipart("/api/transacoes/importar").file(arquivo)
+                .param("idConta", String.valueOf(conta.getId()))
+                .param("idCategoria", String.valueOf(categoria.getId()));
+        opcoes.forEach(requisicao::param);
+        String corpo = mockMvc.perform(requisicao)
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> eventos = new ArrayList<>();
+        for (String linha : corpo.split("\n")) {
+            eventos.add(objectMapper.readTree(linha));
+        }
+        return eventos;
+    }
+
+    private JsonNode buscarPaginaPorCursor(String cursor, int tamanho) throws Exception {
+        var requisicao = get("/api/transacoes/cursor").param("tamanho", String.valueOf(tamanho));
+        if (cursor != null) {
+            requisicao.param("cursor", cursor);
+        }
+        String corpo = mockMvc.perform(requisicao)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo);
+    }
+
+    private long contarConsultasDaPagina(String cursor) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        buscarPaginaPorCursor(cursor, 10);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long contarConsultasDaListagem(String total, Integer totalEsperado) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var resultado = mockMvc.perform(get("/api/transacoes")
+                        .param("total", total)
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+        if (totalEsperado != null) {
+            resultado.andExpect(jsonPath("$.totalElements").value(totalEsperado));
+        }
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void criarTransacoesEmVariasContasECategorias(int quantidade) {
+        List<Conta> contas = new ArrayList<>();
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            contas.add(contaRepository.save(Conta.builder()
+                    .nome("Conta " + i)
+                    .tipo("Corrente")
+                    .saldoInicial(BigDecimal.valueOf(1000.00))
+                    .usuario(usuario)
+                    .build()));
+            categorias.add(categoriaRepository.save(Categoria.builder()
+                    .nome("Categoria " + i)
+                    .cor("azul")
+                    .usuario(usuario)
+                    .build()));
+        }
+
+        List<Transacao> transacoes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            transacoes.add(Transacao.builder()
+                    .tipo(TipoTransacao.DESPESA)
+                    .data(LocalDate.now().minusDays(i))
+                    .valor(BigDecimal.valueOf(10.00 + i))
+                    .descricao("Despesa " + i)
+                    .status(StatusTransacao.CONFIRMADA)
+                    .usuario(usuario)
+                    .conta(contas.get(i % contas.size()))
+                    .categoria(categorias.get((i / contas.size()) % categorias.size()))
+                    .build());
+        }
+        transacaoRepository.saveAll(transacoes);
+    }
+
+    private long contarConsultas(MockHttpServletRequestBuilder requisicao) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(requisicao).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void salvarTransacao(String descricao, String observacao, TipoTransacao tipo, LocalDate data) {
+        transacaoRepository.save(Transacao.builder()
+                .tipo(tipo)
+                .data(data)
+                .valor(BigDecimal.valueOf(10.00))
+                .descricao(descricao)
+                .observacao(observacao)
+                .status(StatusTransacao.CONFIRMADA)
+                .usuario(usuario)
+                .conta(conta)
+                .categoria(categoria)
+                .build());
+    }
 }
@@ -0,0 +1,185 @@
+package br.com.ufape.spendfy.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Banco próprio porque o ANALYZE do H2 confirma a transação e os dados não podem vazar para os outros testes
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:indices;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Testes de Integração - Migrações e índices")
+class IndicesIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        // Alguns usuários com histórico; sem estatísticas o H2 empata os índices compostos com os das chaves estrangeiras
+        for (int u = 0; u < 5; u++) {
+            jdbcTemplate.update("INSERT INTO usuarios (nome, email, senha, status, data_cadastro) VALUES (?, ?, 'x', 'ATIVO', CURRENT_TIMESTAMP)",
+                    "Usuário " + u, "indices" + u + "@email.com");
+        }
+        List<Long> usuarios = jdbcTemplate.queryForList("SELECT id_usuario FROM usuarios", Long.class);
+
+        for (Long idUsuario : usuarios) {
+            jdbcTemplate.update("INSERT INTO contas (nome, tipo, saldo_inicial, saldo_atual, id_usuario, data_cadastro) VALUES ('Conta', 'Corrente', 0, 0, ?, CURRENT_TIMESTAMP)", idUsuario);
+            jdbcTemplate.update("INSERT INTO categorias (nome, id_usuario, data_cadastro) VALUES ('Categoria', ?, CURRENT_TIMESTAMP)", idUsuario);
+            Long idConta = jdbcTemplate.queryForObject("SELECT MAX(id_conta) FROM contas", Long.class);
+            Long idCategoria = jdbcTemplate.queryForObject("SELECT MAX(id_categoria) FROM categorias", Long.class);
+
+            List<Object[]> transacoes = new ArrayList<>();
+            List<Object[]> alertas = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                LocalDate data = LocalDate.of(2024, 1, 1).plusDays(i);
+                transacoes.add(new Object[]{i % 2 == 0 ? "DESPESA" : "RECEITA", data, i % 20 == 0 ? "MENSAL" : "NENHUMA",
+                        i % 20 == 0 ? data.plusMonths(1) : null, idUsuario, idConta, idCategoria});
+                alertas.add(new Object[]{i % 3 == 0, idUsuario});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO transacoes (tipo, data, valor, status, recorrencia, data_proxima_ocorrencia, "
+                    + "id_usuario, id_conta, id_categoria, data_cadastro) VALUES (?, ?, 10, 'CONFIRMADA', ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", transacoes);
+            jdbcTemplate.batchUpdate("INSERT INTO alertas (tipo, mensagem, lido, id_usuario, criado_em) "
+                    + "VALUES ('SALDO_BAIXO', 'Alerta', ?, ?, CURRENT_TIMESTAMP)", alertas);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as migrações versionadas")
+    void deveAplicarMigracoes() {
+        List<String> versoes = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" = TRUE ORDER BY \"installed_rank\"", String.class);
+
+        assertThat(versoes).containsExactly("1", "1.1", "2", "3", "4", "5", "6", "7");
+    }
+
+    @Test
+    @DisplayName("Deve migrar banco existente marcado na V1 preenchendo saldos e resumos mensais")
+    void deveMigrarBancoExistenteComPreenchimento() {
+        // Banco anterior ao Flyway: esquema da V1 sem histórico, com dados, como em produção
+        DriverManagerDataSource legado = new DriverManagerDataSource("jdbc:h2:mem:legado;DB_CLOSE_DELAY=-1", "sa", "");
+        ResourceDatabasePopulator esquemaInicial = new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/comum/V1__esquema_inicial.sql"));
+        esquemaInicial.execute(legado);
+
+        JdbcTemplate jdbc = new JdbcTemplate(legado);
+        jdbc.update("INSERT INTO usuarios (nome, email, senha, status, data_cadastro) VALUES ('Legado', 'legado@email.com', 'x', 'ATIVO', CURRENT_TIMESTAMP)");
+        Long idUsuario = jdbc.queryForObject("SELECT id_usuario FROM usuarios", Long.class);
+        jdbc.update("INSERT INTO contas (nome, tipo, saldo_inicial, id_usuario, data_cadastro) VALUES ('Conta', 'Corrente', 100, ?, CURRENT_TIMESTAMP)", idUsuario);
+        jdbc.update("INSERT INTO contas (nome, tipo, saldo_inicial, id_usuario, data_cadastro) VALUES ('Vazia', 'Corrente', 50, ?, CURRENT_TIMESTAMP)", idUsuario);
+        jdbc.update("INSERT INTO categorias (nome, id_usuario, data_cadastro) VALUES ('Geral', ?, CURRENT_TIMESTAMP)", idUsuario);
+        Long idConta = jdbc.queryForObject("SELECT id_conta FROM contas WHERE nome = 'Conta'", Long.class);
+        Long idCategoria = jdbc.queryForObject("SELECT id_categoria FROM categorias", Long.class);
+        for (Object[] transacao : List.of(
+                new Object[]{"RECEITA", LocalDate.of(2024, 1, 5), 500},
+                new Object[]{"DESPESA", LocalDate.of(2024, 1, 10), 30},
+                new Object[]{"DESPESA", LocalDate.of(2024, 1, 20), 20},
+                new Object[]{"DESPESA", LocalDate.of(2024, 2, 1), 45})) {
+            jdbc.update("INSERT INTO transacoes (tipo, data, valor, status, id_usuario, id_conta, id_categoria, data_cadastro) "
+                    + "VALUES (?, ?, ?, 'CONFIRMADA', ?, ?, ?, CURRENT_TIMESTAMP)",
+                    transacao[0], transacao[1], transacao[2], idUsuario, idConta, idCategoria);
+        }
+
+        Flyway.configure()
+                .dataSource(legado)
+                .locations("classpath:db/migration/comum", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(jdbc.queryForObject("SELECT saldo_atual FROM contas WHERE nome = 'Conta'", BigDecimal.class))
+                .isEqualByComparingTo("505.00");
+        assertThat(jdbc.queryForObject("SELECT saldo_atual FROM contas WHERE nome = 'Vazia'", BigDecimal.class))
+                .isEqualByComparingTo("50.00");
+        assertThat(jdbc.queryForList("SELECT tipo, ano_mes, total, quantidade FROM resumos_mensais ORDER BY ano_mes, tipo"))
+                .extracting(resumo -> resumo.get("TIPO") + " " + resumo.get("ANO_MES") + " "
+                        + ((BigDecimal) resumo.get("TOTAL")).stripTrailingZeros().toPlainString() + " " + resumo.get("QUANTIDADE"))
+                .containsExactly("DESPESA 202401 50 2", "RECEITA 202401 500 1", "DESPESA 202402 45 1");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM tokens_revogados", Integer.class)).isZero();
+
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Deve indexar no PostgreSQL a mesma expressão, sem acentos, usada pela busca por trigramas")
+    void deveIndexarMesmaExpressaoDaBusca() throws IOException {
+        String migracao = new ClassPathResource("db/migration/postgresql/V3__busca_textual.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(TransacaoRepositoryImpl.TEXTO_BUSCA).startsWith("sem_acentos(");
+        assertThat(migracao).contains("(" + TransacaoRepositoryImpl.TEXTO_BUSCA.replace("t.", "") + ") gin_trgm_ops");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice por usuário e data na listagem de transações")
+    void deveUsarIndiceUsuarioData() {
+        assertThat(plano("SELECT * FROM transacoes WHERE id_usuario = 1 AND data >= DATE '2024-03-01' "
+                + "ORDER BY data DESC, id_transacao DESC LIMIT 20"))
+                .contains("IDX_TRANSACAO_USUARIO_DATA_ID");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice por conta e tipo no recálculo do saldo")
+    void deveUsarIndiceContaTipo() {
+        assertThat(plano("SELECT SUM(valor) FROM transacoes WHERE id_conta = 1 AND tipo = 'RECEITA'"))
+                .contains("IDX_TRANSACAO_CONTA_TIPO");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice por usuário, categoria, tipo e data no total por categoria")
+    void deveUsarIndiceUsuarioCategoriaTipoData() {
+        assertThat(plano("SELECT COALESCE(SUM(valor), 0) FROM transacoes WHERE id_usuario = 1 AND id_categoria = 1 "
+                + "AND tipo = 'DESPESA' AND data BETWEEN DATE '2024-02-01' AND DATE '2024-02-29'"))
+                .contains("IDX_TRANSACAO_USUARIO_CATEGORIA_TIPO_DATA");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice de alertas não lidos do usuário")
+    void deveUsarIndiceAlertasNaoLidos() {
+        assertThat(plano("SELECT * FROM alertas WHERE id_usuario = 1 AND lido = FALSE ORDER BY criado_em DESC"))
+                .contains("IDX_ALERTA_USUARIO_LIDO_CRIADO");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice de próxima ocorrência na busca de recorrências vencidas")
+    void deveUsarIndiceProximaOcorrencia() {
+        assertThat(plano("SELECT * FROM transacoes WHERE recorrencia <> 'NENHUMA' "
+                + "AND data_proxima_ocorrencia <= DATE '2024-03-01'"))
+                .contains("IDX_TRANSACAO_PROXIMA_OCORRENCIA");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice por usuário e data de atualização na sincronização incremental")
+    void deveUsarIndiceUsuarioAtualizacao() {
+        assertThat(plano("SELECT * FROM transacoes WHERE id_usuario = 1 "
+                + "AND data_atualizacao > TIMESTAMP '2024-03-01 00:00:00'"))
+                .contains("IDX_TRANSACAO_USUARIO_ATUALIZACAO");
+    }
+
+    private String plano(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.ufape.spendfy.repository;
+
+import br.com.ufape.spendfy.entity.ResumoMensal;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - ResumoMensalRepository")
+class ResumoMensalRepositoryIntegrationTest {
+
+    private static final long USUARIO = 990_001L;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> resumoMensalRepository.deleteByIdUsuario(USUARIO));
+    }
+
+    @Test
+    @DisplayName("Deve criar o resumo do mês e acumular sobre ele nas escritas seguintes")
+    void deveCriarEAcumularResumo() {
+        transactionTemplate.executeWithoutResult(status -> {
+            resumoMensalRepository.inserirOuAcumular(USUARIO, 1L, TipoTransacao.DESPESA, 202403, new BigDecimal("80.00"), 1L);
+            resumoMensalRepository.inserirOuAcumular(USUARIO, 1L, TipoTransacao.DESPESA, 202403, new BigDecimal("20.50"), 2L);
+        });
+
+        ResumoMensal resumo = resumoUnico();
+        assertThat(resumo.getTotal()).isEqualByComparingTo("100.50");
+        assertThat(resumo.getQuantidade()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Deve somar duas primeiras escritas concorrentes no mesmo mês sem violar a chave única")
+    void deveSomarPrimeirasEscritasConcorrentes() throws Exception {
+        CountDownLatch primeiraEscrita = new CountDownLatch(1);
+
+        // A primeira transação cria o resumo e só confirma depois que a segunda já tentou criá-lo também
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            resumoMensalRepository.inserirOuAcumular(USUARIO, 1L, TipoTransacao.RECEITA, 202404, BigDecimal.TEN, 1L);
+            primeiraEscrita.countDown();
+            pausar();
+        }));
+        CompletableFuture<Void> segunda = CompletableFuture.runAsync(() -> {
+            aguardar(primeiraEscrita);
+            transactionTemplate.executeWithoutResult(status ->
+                    resumoMensalRepository.inserirOuAcumular(USUARIO, 1L, TipoTransacao.RECEITA, 202404, BigDecimal.ONE, 1L));
+        });
+
+        CompletableFuture.allOf(primeira, segunda).get(30, TimeUnit.SECONDS);
+
+        ResumoMensal resumo = resumoUnico();
+        assertThat(resumo.getTotal()).isEqualByComparingTo("11.00");
+        assertThat(resumo.getQuantidade()).isEqualTo(2L);
+    }
+
+    private ResumoMensal resumoUnico() {
+        List<ResumoMensal> resumos = resumoMensalRepository.findAll().stream()
+                .filter(resumo -> resumo.getIdUsuario() == USUARIO)
+                .toList();
+        assertThat(resumos).hasSize(1);
+        return resumos.get(0);
+    }
+
+    private static void pausar() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.ufape.spendfy.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Agendamentos")
+class AgendamentoIntegrationTest {
+
+    @Autowired
+    private List<ScheduledTaskHolder> agendadores;
+
+    @Test
+    @DisplayName("Deve agendar a reconciliação diária dos saldos das contas")
+    void deveAgendarReconciliacaoDosSaldos() {
+        assertThat(tarefasAgendadas())
+                .containsEntry(SaldoContaReconciliacaoScheduler.class.getName() + ".reconciliarSaldos", "0 0 3 * * *");
+    }
+
+    @Test
+    @DisplayName("Deve agendar a limpeza diária do registro de exclusões")
+    void deveAgendarLimpezaDasExclusoes() {
+        assertThat(tarefasAgendadas())
+                .containsEntry(ExclusaoLimpezaScheduler.class.getName() + ".removerExclusoesAntigas", "0 30 3 * * *");
+    }
+
+    // Método agendado (classe.método) -> expressão cron
+    private Map<String, String> tarefasAgendadas() {
+        Map<String, String> tarefas = new HashMap<>();
+        for (ScheduledTaskHolder agendador : agendadores) {
+            for (ScheduledTask tarefa : agendador.getScheduledTasks()) {
+                if (tarefa.getTask() instanceof CronTask cron) {
+                    tarefas.put(cron.getRunnable().toString(), cron.getExpression());
+                }
+            }
+        }
+        return tarefas;
+    }
+}
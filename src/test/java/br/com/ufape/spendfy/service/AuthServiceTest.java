@@ -1,10 +1,16 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
+import br.com.ufape.spendfy.component.TokensRevogados;
+import br.com.ufape.spendfy.dto.auth.AlterarSenhaRequest;
 import br.com.ufape.spendfy.dto.auth.AuthResponse;
 import br.com.ufape.spendfy.dto.auth.LoginRequest;
+import br.com.ufape.spendfy.dto.auth.RefreshRequest;
 import br.com.ufape.spendfy.dto.auth.RegisterRequest;
 import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import br.com.ufape.spendfy.exception.BusinessException;
+import br.com.ufape.spendfy.exception.TokenInvalidoException;
 import br.com.ufape.spendfy.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,6 +29,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -42,6 +49,15 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokensRevogados tokensRevogados;
+
+    @Mock
+    private AuthenticatedUserResolver userResolver;
+
     @InjectMocks
     private AuthService authService;
 
@@ -314,4 +330,65 @@ class AuthServiceTest {
         assertThat(response).isNotNull();
         verify(usuarioRepository, times(1)).existsByEmail("JOAO@EMAIL.COM");
     }
+
+    @Test
+    @DisplayName("Deve renovar tokens com refresh token válido")
+    void deveRenovarTokensComRefreshTokenValido() {
+        when(refreshTokenService.consumir("refresh-antigo")).thenReturn(1L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(jwtService.generateToken(usuario)).thenReturn("fake.jwt.token");
+        when(refreshTokenService.emitir(1L)).thenReturn("refresh-novo");
+
+        AuthResponse response = authService.refresh(new RefreshRequest("refresh-antigo"));
+
+        assertThat(response.getToken()).isEqualTo("fake.jwt.token");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-novo");
+    }
+
+    @Test
+    @DisplayName("Não deve renovar tokens de usuário inativo")
+    void naoDeveRenovarTokensDeUsuarioInativo() {
+        usuario.setStatus(StatusUsuario.INATIVO);
+        when(refreshTokenService.consumir("refresh-antigo")).thenReturn(1L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        assertThatThrownBy(() -> authService.refresh(new RefreshRequest("refresh-antigo")))
+                .isInstanceOf(TokenInvalidoException.class);
+
+        verify(refreshTokenService, never()).emitir(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve alterar senha, incrementar a versão dos tokens e emitir um novo par na versão nova")
+    void deveAlterarSenhaERevogarTokens() {
+        when(userResolver.getUsuarioAutenticado()).thenReturn(usuario);
+        when(passwordEncoder.matches("senha123", "$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("novaSenha456")).thenReturn("$2a$10$novoHash");
+        when(jwtService.generateToken(usuario)).thenReturn("novo.jwt.token");
+        when(refreshTokenService.emitir(1L)).thenReturn("novo-refresh");
+
+        AuthResponse response = authService.alterarSenha(new AlterarSenhaRequest("senha123", "novaSenha456"));
+
+        assertThat(usuario.getSenha()).isEqualTo("$2a$10$novoHash");
+        assertThat(response.getToken()).isEqualTo("novo.jwt.token");
+        assertThat(response.getRefreshToken()).isEqualTo("novo-refresh");
+        assertThat(usuario.getVersaoToken()).isEqualTo(1);
+        verify(usuarioRepository).save(usuario);
+        verify(refreshTokenService).revogarTodos(1L);
+        verify(tokensRevogados).revogarUsuario(1L, 1);
+    }
+
+    @Test
+    @DisplayName("Não deve alterar senha quando a senha atual está incorreta")
+    void naoDeveAlterarSenhaComSenhaAtualIncorreta() {
+        when(userResolver.getUsuarioAutenticado()).thenReturn(usuario);
+        when(passwordEncoder.matches("errada", "$2a$10$encodedPassword")).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.alterarSenha(new AlterarSenhaRequest("errada", "novaSenha456")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Senha atual incorreta");
+
+        verify(usuarioRepository, never()).save(any(Usuario.class));
+        verify(tokensRevogados, never()).revogarUsuario(anyLong(), anyInt());
+    }
 }
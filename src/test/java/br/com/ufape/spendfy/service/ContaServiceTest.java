@@ -1,5 +1,6 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
 import br.com.ufape.spendfy.dto.conta.ContaRequest;
 import br.com.ufape.spendfy.dto.conta.ContaResponse;
 import br.com.ufape.spendfy.entity.Conta;
@@ -8,8 +9,6 @@ import br.com.ufape.spendfy.entity.enums.StatusUsuario;
 import br.com.ufape.spendfy.exception.BusinessException;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.ContaRepository;
-import br.com.ufape.spendfy.repository.TransacaoRepository;
-import br.com.ufape.spendfy.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,9 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,7 +28,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
-import static org.mockito.Mockito.lenient;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Testes Unitários - ContaService")
@@ -41,16 +37,16 @@ class ContaServiceTest {
     private ContaRepository contaRepository;
 
     @Mock
-    private UsuarioRepository usuarioRepository;
+    private AuthenticatedUserResolver userResolver;
 
     @Mock
-    private TransacaoRepository transacaoRepository;
+    private ResumoMensalService resumoMensalService;
 
     @Mock
-    private SecurityContext securityContext;
+    private ExclusaoService exclusaoService;
 
     @Mock
-    private Authentication authentication;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ContaService contaService;
@@ -74,6 +70,7 @@ class ContaServiceTest {
                 .nome("Conta Corrente")
                 .tipo("Corrente")
                 .saldoInicial(BigDecimal.valueOf(1000.00))
+                .saldoAtual(BigDecimal.valueOf(1000.00))
                 .usuario(usuario)
                 .dataCadastro(LocalDateTime.now())
                 .dataAtualizacao(LocalDateTime.now())
@@ -85,11 +82,7 @@ class ContaServiceTest {
                 .saldoInicial(BigDecimal.valueOf(1000.00))
                 .build();
 
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("joao@email.com");
-        when(usuarioRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(usuario));
-        lenient().when(transacaoRepository.sumValorByContaIdAndTipo(any(), any())).thenReturn(BigDecimal.ZERO);
+        when(userResolver.getUsuarioAutenticado()).thenReturn(usuario);
     }
 
     @Test
@@ -290,6 +283,8 @@ class ContaServiceTest {
         ContaResponse response = contaService.atualizar(1L, requestAtualizado);
 
         assertThat(response).isNotNull();
+        assertThat(response.getSaldoAtual()).isEqualByComparingTo(BigDecimal.valueOf(3000.00));
+        verify(contaRepository, times(1)).adicionarAoSaldo(1L, BigDecimal.valueOf(2000.00));
         verify(contaRepository, times(1)).save(any(Conta.class));
     }
 
@@ -339,6 +334,8 @@ class ContaServiceTest {
 
         contaService.deletar(1L);
 
+        verify(resumoMensalService, times(1)).estornarTransacoesDaConta(1L);
+        verify(exclusaoService, times(1)).registrarConta(conta);
         verify(contaRepository, times(1)).delete(conta);
     }
 
@@ -0,0 +1,65 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.entity.Exclusao;
+import br.com.ufape.spendfy.entity.enums.RecursoSincronizado;
+import br.com.ufape.spendfy.repository.ExclusaoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - ExclusaoLimpezaScheduler")
+class ExclusaoLimpezaSchedulerIntegrationTest {
+
+    private static final long USUARIO = 990_002L;
+
+    @Autowired
+    private ExclusaoLimpezaScheduler exclusaoLimpezaScheduler;
+
+    @Autowired
+    private ExclusaoRepository exclusaoRepository;
+
+    @AfterEach
+    void tearDown() {
+        exclusaoRepository.deleteAll(exclusoesDoUsuario());
+    }
+
+    @Test
+    @DisplayName("Deve remover as exclusões mais antigas que a retenção e manter as recentes")
+    void deveRemoverExclusoesForaDaRetencao() {
+        LocalDateTime agora = LocalDateTime.now();
+        exclusaoRepository.save(exclusao(1L, agora.minusDays(91)));
+        exclusaoRepository.save(exclusao(2L, agora.minusDays(89)));
+        exclusaoRepository.save(exclusao(3L, agora.minusMinutes(1)));
+
+        exclusaoLimpezaScheduler.removerExclusoesAntigas();
+
+        assertThat(exclusoesDoUsuario())
+                .extracting(Exclusao::getIdRecurso)
+                .containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    private Exclusao exclusao(Long idRecurso, LocalDateTime dataExclusao) {
+        return Exclusao.builder()
+                .idUsuario(USUARIO)
+                .recurso(RecursoSincronizado.TRANSACAO)
+                .idRecurso(idRecurso)
+                .dataExclusao(dataExclusao)
+                .build();
+    }
+
+    private List<Exclusao> exclusoesDoUsuario() {
+        return exclusaoRepository.findAll().stream()
+                .filter(exclusao -> exclusao.getIdUsuario() == USUARIO)
+                .toList();
+    }
+}
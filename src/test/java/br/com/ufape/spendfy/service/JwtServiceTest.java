@@ -0,0 +1,96 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.component.TokenClaims;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusUsuario;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes Unitários - JwtService")
+class JwtServiceTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtService jwtService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000);
+
+        usuario = Usuario.builder()
+                .id(7L)
+                .nome("João Silva")
+                .email("joao@email.com")
+                .senha("$2a$10$encodedPassword")
+                .status(StatusUsuario.ATIVO)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve verificar token e devolver os claims do usuário")
+    void deveVerificarTokenEDevolverClaims() {
+        String token = jwtService.generateToken(usuario);
+
+        TokenClaims claims = jwtService.verificar(token);
+
+        assertThat(claims.subject()).isEqualTo("joao@email.com");
+        assertThat(claims.idUsuario()).isEqualTo(7L);
+        assertThat(claims.status()).isEqualTo(StatusUsuario.ATIVO);
+        assertThat(claims.expiracao()).isAfter(Instant.now());
+        assertThat(claims.toPrincipal().isAtivo()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve verificar token sem claims de usuário")
+    void deveVerificarTokenSemClaimsDeUsuario() {
+        String token = jwtService.generateToken((UserDetails) usuario);
+
+        TokenClaims claims = jwtService.verificar(token);
+
+        assertThat(claims.subject()).isEqualTo("joao@email.com");
+        assertThat(claims.possuiUsuario()).isFalse();
+        assertThat(claims.status()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token com assinatura adulterada")
+    void deveRejeitarTokenAdulterado() {
+        String token = jwtService.generateToken(usuario);
+        String adulterado = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.verificar(adulterado))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token assinado com outra chave")
+    void deveRejeitarTokenAssinadoComOutraChave() {
+        JwtService outro = new JwtService(
+                "4B6250655368566D597133743677397A24432646294A404E635266546A576E5A", 60_000);
+        String token = outro.generateToken(usuario);
+
+        assertThatThrownBy(() -> jwtService.verificar(token))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token expirado")
+    void deveRejeitarTokenExpirado() {
+        JwtService expirado = new JwtService(SECRET, -1_000);
+        String token = expirado.generateToken(usuario);
+
+        assertThatThrownBy(() -> jwtService.verificar(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+}
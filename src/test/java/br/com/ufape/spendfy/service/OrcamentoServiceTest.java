@@ -1,17 +1,18 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoRequest;
 import br.com.ufape.spendfy.dto.orcamento.OrcamentoResponse;
+import br.com.ufape.spendfy.dto.orcamento.OrcamentoResumoResponse;
 import br.com.ufape.spendfy.entity.Categoria;
 import br.com.ufape.spendfy.entity.Orcamento;
 import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.RecursoSincronizado;
 import br.com.ufape.spendfy.entity.enums.StatusUsuario;
 import br.com.ufape.spendfy.exception.BusinessException;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.CategoriaRepository;
 import br.com.ufape.spendfy.repository.OrcamentoRepository;
-import br.com.ufape.spendfy.repository.TransacaoRepository;
-import br.com.ufape.spendfy.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,9 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -29,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,16 +48,19 @@ class OrcamentoServiceTest {
     private CategoriaRepository categoriaRepository;
 
     @Mock
-    private UsuarioRepository usuarioRepository;
+    private AuthenticatedUserResolver userResolver;
 
     @Mock
-    private TransacaoRepository transacaoRepository;
+    private ResumoMensalService resumoMensalService;
 
     @Mock
-    private SecurityContext securityContext;
+    private GastoOrcamentoService gastoOrcamentoService;
 
     @Mock
-    private Authentication authentication;
+    private ExclusaoService exclusaoService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private OrcamentoService orcamentoService;
@@ -102,11 +105,8 @@ class OrcamentoServiceTest {
                 .idCategoria(1L)
                 .build();
 
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("joao@email.com");
-        when(usuarioRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(usuario));
-        lenient().when(transacaoRepository.sumValorByCategoriaAndPeriodoAndTipo(any(), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+        lenient().when(userResolver.getUsuarioAutenticado()).thenReturn(usuario);
+        lenient().when(resumoMensalService.totalDaCategoriaNoPeriodo(any(), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
     }
 
     @Test
@@ -323,14 +323,60 @@ class OrcamentoServiceTest {
                 .categoria(categoria)
                 .build();
 
-        when(orcamentoRepository.findByUsuarioId(1L))
+        when(orcamentoRepository.findByUsuarioIdComCategoria(1L))
                 .thenReturn(Arrays.asList(orcamento, orcamento2));
+        when(gastoOrcamentoService.calcularGastos(1L))
+                .thenReturn(Map.of(2L, BigDecimal.valueOf(600.00)));
 
         List<OrcamentoResponse> responses = orcamentoService.listarTodos();
 
         assertThat(responses).hasSize(2);
         assertThat(responses.get(0).getValorLimite()).isEqualByComparingTo(BigDecimal.valueOf(1000.00));
+        assertThat(responses.get(0).getValorGasto()).isEqualByComparingTo(BigDecimal.ZERO);
         assertThat(responses.get(1).getValorLimite()).isEqualByComparingTo(BigDecimal.valueOf(500.00));
+        assertThat(responses.get(1).getValorGasto()).isEqualByComparingTo(BigDecimal.valueOf(600.00));
+        verify(resumoMensalService, never()).totalDaCategoriaNoPeriodo(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve calcular o gasto só dos orçamentos alterados devolvidos à sincronização")
+    void deveCalcularGastoSoDosOrcamentosAlterados() {
+        LocalDateTime desde = LocalDateTime.now().minusHours(1);
+        when(orcamentoRepository.findByUsuarioIdAlteradosDesde(1L, desde)).thenReturn(List.of(orcamento));
+        when(gastoOrcamentoService.calcularGastosDosOrcamentos(List.of(1L)))
+                .thenReturn(Map.of(1L, BigDecimal.valueOf(300.00)));
+
+        List<OrcamentoResponse> responses = orcamentoService.listarAlteradosDesde(1L, desde);
+
+        assertThat(responses).hasSize(1);
+        assertThat(responses.get(0).getValorGasto()).isEqualByComparingTo(BigDecimal.valueOf(300.00));
+        verify(gastoOrcamentoService, never()).calcularGastos(any());
+    }
+
+    @Test
+    @DisplayName("Deve resumir orçamentos com totais consolidados")
+    void deveResumirOrcamentos() {
+        Orcamento orcamento2 = Orcamento.builder()
+                .id(2L)
+                .valorLimite(BigDecimal.valueOf(500.00))
+                .dataInicio(LocalDate.of(2024, 2, 1))
+                .dataFim(LocalDate.of(2024, 2, 29))
+                .usuario(usuario)
+                .categoria(categoria)
+                .build();
+
+        when(orcamentoRepository.findByUsuarioIdComCategoria(1L))
+                .thenReturn(Arrays.asList(orcamento, orcamento2));
+        when(gastoOrcamentoService.calcularGastos(1L))
+                .thenReturn(Map.of(1L, BigDecimal.valueOf(300.00), 2L, BigDecimal.valueOf(600.00)));
+
+        OrcamentoResumoResponse resumo = orcamentoService.resumir();
+
+        assertThat(resumo.getOrcamentos()).hasSize(2);
+        assertThat(resumo.getTotalLimite()).isEqualByComparingTo(BigDecimal.valueOf(1500.00));
+        assertThat(resumo.getTotalGasto()).isEqualByComparingTo(BigDecimal.valueOf(900.00));
+        assertThat(resumo.getTotalRestante()).isEqualByComparingTo(BigDecimal.valueOf(600.00));
+        assertThat(resumo.getQuantidadeUltrapassados()).isEqualTo(1);
     }
 
     @Test
@@ -441,6 +487,7 @@ class OrcamentoServiceTest {
 
         orcamentoService.deletar(1L);
 
+        verify(exclusaoService, times(1)).registrar(usuario.getId(), RecursoSincronizado.ORCAMENTO, orcamento.getId());
         verify(orcamentoRepository, times(1)).delete(orcamento);
     }
 
@@ -0,0 +1,224 @@
+package br.com.ufape.spendfy.service;
+
+import br.com.ufape.spendfy.component.AgregadosDaRequisicao;
+import br.com.ufape.spendfy.dto.insight.FluxoMensalResponse;
+import br.com.ufape.spendfy.entity.Categoria;
+import br.com.ufape.spendfy.entity.Conta;
+import br.com.ufape.spendfy.entity.ResumoMensal;
+import br.com.ufape.spendfy.entity.Transacao;
+import br.com.ufape.spendfy.entity.Usuario;
+import br.com.ufape.spendfy.entity.enums.StatusTransacao;
+import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.repository.ResumoMensalRepository;
+import br.com.ufape.spendfy.repository.TransacaoRepository;
+import br.com.ufape.spendfy.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - ResumoMensalService")
+class ResumoMensalServiceTest {
+
+    @Mock
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Mock
+    private TransacaoRepository transacaoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Spy
+    private AgregadosDaRequisicao agregadosDaRequisicao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ResumoMensalService resumoMensalService;
+
+    private Transacao transacao;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = Usuario.builder().id(1L).build();
+
+        transacao = Transacao.builder()
+                .id(1L)
+                .tipo(TipoTransacao.DESPESA)
+                .data(LocalDate.of(2024, 3, 15))
+                .valor(BigDecimal.valueOf(80.00))
+                .status(StatusTransacao.CONFIRMADA)
+                .usuario(usuario)
+                .conta(Conta.builder().id(1L).usuario(usuario).build())
+                .categoria(Categoria.builder().id(2L).usuario(usuario).build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Deve acumular valor com um único upsert, criando o resumo do mês se preciso")
+    void deveAcumularValorComUpsert() {
+        resumoMensalService.registrar(transacao);
+
+        verify(resumoMensalRepository).inserirOuAcumular(1L, 2L, TipoTransacao.DESPESA, 202403, BigDecimal.valueOf(80.00), 1L);
+        verify(resumoMensalRepository, never()).acumular(any(), any(), any(), any(), any(), any());
+        verify(resumoMensalRepository, never()).save(any(ResumoMensal.class));
+    }
+
+    @Test
+    @DisplayName("Deve descontar o estorno do resumo existente sem reconstruir")
+    void deveDescontarEstornoDoResumoExistente() {
+        when(resumoMensalRepository.acumular(1L, 2L, TipoTransacao.DESPESA, 202403, BigDecimal.valueOf(-80.00), -1L))
+                .thenReturn(1);
+
+        resumoMensalService.estornar(transacao);
+
+        verify(resumoMensalRepository, never()).inserirOuAcumular(any(), any(), any(), any(), any(), any());
+        verify(resumoMensalRepository, never()).deleteByIdUsuario(any());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir os resumos do usuário após o commit ao estornar mês inexistente")
+    void deveReconstruirResumosAoEstornarMesInexistente() {
+        when(resumoMensalRepository.acumular(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resumoMensalService.estornar(transacao);
+            resumoMensalService.estornar(transacao);
+
+            verify(resumoMensalRepository, never()).deleteByIdUsuario(any());
+            verify(resumoMensalRepository, never()).inserirOuAcumular(any(), any(), any(), any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(resumoMensalRepository).deleteByIdUsuario(1L);
+        verify(transacaoRepository).sumValorPorMesByUsuarioId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve usar o resumo para períodos de meses completos")
+    void deveUsarResumoParaMesesCompletos() {
+        when(resumoMensalRepository.sumTotalByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
+                1L, 2L, TipoTransacao.DESPESA, 202401, 202402)).thenReturn(BigDecimal.TEN);
+
+        BigDecimal total = resumoMensalService.totalDaCategoriaNoPeriodo(1L, 2L, TipoTransacao.DESPESA,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29));
+
+        assertThat(total).isEqualByComparingTo(BigDecimal.TEN);
+        verifyNoInteractions(transacaoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar transações para períodos parciais")
+    void deveConsultarTransacoesParaPeriodosParciais() {
+        LocalDate inicio = LocalDate.of(2024, 1, 10);
+        LocalDate fim = LocalDate.of(2024, 2, 9);
+        when(transacaoRepository.sumValorByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
+                1L, 2L, TipoTransacao.DESPESA, inicio, fim)).thenReturn(BigDecimal.ONE);
+
+        BigDecimal total = resumoMensalService.totalDaCategoriaNoPeriodo(1L, 2L, TipoTransacao.DESPESA, inicio, fim);
+
+        assertThat(total).isEqualByComparingTo(BigDecimal.ONE);
+        verifyNoInteractions(resumoMensalRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar cada agregado uma única vez por requisição")
+    void deveConsultarCadaAgregadoUmaVezPorRequisicao() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(resumoMensalRepository.sumTotalByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
+                1L, 2L, TipoTransacao.DESPESA, 202403, 202403)).thenReturn(BigDecimal.ONE);
+
+        resumoMensalService.totalDaCategoriaNoMes(1L, 2L, TipoTransacao.DESPESA, YearMonth.of(2024, 3));
+        BigDecimal total = resumoMensalService.totalDaCategoriaNoPeriodo(1L, 2L, TipoTransacao.DESPESA,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        resumoMensalService.fluxoMensal(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+        resumoMensalService.fluxoMensal(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+
+        assertThat(total).isEqualByComparingTo(BigDecimal.ONE);
+        verify(resumoMensalRepository).sumTotalByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
+                1L, 2L, TipoTransacao.DESPESA, 202403, 202403);
+        verify(resumoMensalRepository).findTotaisPorMesETipo(1L, 202401, 202403);
+    }
+
+    @Test
+    @DisplayName("Deve descartar agregados memorizados após registrar transação")
+    void deveDescartarAgregadosAposRegistrarTransacao() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(resumoMensalRepository.sumTotalByUsuarioIdAndCategoriaIdAndTipoAndPeriodo(
+                1L, 2L, TipoTransacao.DESPESA, 202403, 202403)).thenReturn(BigDecimal.TEN, BigDecimal.valueOf(90.00));
+        resumoMensalService.totalDaCategoriaNoMes(1L, 2L, TipoTransacao.DESPESA, YearMonth.of(2024, 3));
+        resumoMensalService.registrar(transacao);
+        BigDecimal total = resumoMensalService.totalDaCategoriaNoMes(1L, 2L, TipoTransacao.DESPESA, YearMonth.of(2024, 3));
+
+        assertThat(total).isEqualByComparingTo(BigDecimal.valueOf(90.00));
+    }
+
+    @Test
+    @DisplayName("Deve montar fluxo mensal com todos os meses do intervalo")
+    void deveMontarFluxoMensalComTodosOsMeses() {
+        when(resumoMensalRepository.findTotaisPorMesETipo(1L, 202401, 202403)).thenReturn(List.of(
+                new Object[]{202401, TipoTransacao.RECEITA, BigDecimal.valueOf(1000.00)},
+                new Object[]{202401, TipoTransacao.DESPESA, BigDecimal.valueOf(400.00)},
+                new Object[]{202403, TipoTransacao.DESPESA, BigDecimal.valueOf(50.00)}));
+
+        List<FluxoMensalResponse> fluxo = resumoMensalService.fluxoMensal(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+
+        assertThat(fluxo).extracting(FluxoMensalResponse::getMes)
+                .containsExactly(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3));
+        assertThat(fluxo.get(0).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(600.00));
+        assertThat(fluxo.get(1).getReceitas()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(fluxo.get(1).getDespesas()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(fluxo.get(2).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(-50.00));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir resumos do usuário a partir das transações")
+    void deveReconstruirResumosDoUsuario() {
+        when(transacaoRepository.sumValorPorMesByUsuarioId(1L)).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 2L, TipoTransacao.DESPESA, 2024, 3, BigDecimal.valueOf(120.00), 3L},
+                new Object[]{1L, 5L, TipoTransacao.RECEITA, 2024, 4, BigDecimal.valueOf(900.00), 1L}));
+
+        int resumos = resumoMensalService.reconstruir(1L);
+
+        assertThat(resumos).isEqualTo(2);
+        verify(resumoMensalRepository).deleteByIdUsuario(1L);
+        verify(resumoMensalRepository).saveAll(anyList());
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.ufape.spendfy.service;
 
+import br.com.ufape.spendfy.component.AuthenticatedUserResolver;
 import br.com.ufape.spendfy.dto.transacao.TransacaoRequest;
 import br.com.ufape.spendfy.dto.transacao.TransacaoResponse;
 import br.com.ufape.spendfy.entity.Categoria;
@@ -9,22 +10,24 @@ import br.com.ufape.spendfy.entity.Usuario;
 import br.com.ufape.spendfy.entity.enums.StatusTransacao;
 import br.com.ufape.spendfy.entity.enums.StatusUsuario;
 import br.com.ufape.spendfy.entity.enums.TipoTransacao;
+import br.com.ufape.spendfy.event.DadosFinanceirosAlteradosEvent;
 import br.com.ufape.spendfy.exception.BusinessException;
 import br.com.ufape.spendfy.exception.ResourceNotFoundException;
 import br.com.ufape.spendfy.repository.CategoriaRepository;
 import br.com.ufape.spendfy.repository.ContaRepository;
+import br.com.ufape.spendfy.repository.OrcamentoRepository;
 import br.com.ufape.spendfy.repository.TransacaoRepository;
-import br.com.ufape.spendfy.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -37,7 +40,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
-import static org.mockito.Mockito.lenient;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Testes Unitários - TransacaoService")
@@ -53,13 +55,22 @@ class TransacaoServiceTest {
     private CategoriaRepository categoriaRepository;
 
     @Mock
-    private UsuarioRepository usuarioRepository;
+    private OrcamentoRepository orcamentoRepository;
 
     @Mock
-    private SecurityContext securityContext;
+    private AuthenticatedUserResolver userResolver;
 
     @Mock
-    private Authentication authentication;
+    private SaldoContaService saldoContaService;
+
+    @Mock
+    private ResumoMensalService resumoMensalService;
+
+    @Mock
+    private ExclusaoService exclusaoService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TransacaoService transacaoService;
@@ -85,6 +96,7 @@ class TransacaoServiceTest {
                 .nome("Conta Corrente")
                 .tipo("Corrente")
                 .saldoInicial(BigDecimal.valueOf(1000.00))
+                .saldoAtual(BigDecimal.valueOf(1000.00))
                 .usuario(usuario)
                 .build();
 
@@ -121,11 +133,7 @@ class TransacaoServiceTest {
                 .idCategoria(1L)
                 .build();
 
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("joao@email.com");
-        when(usuarioRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(usuario));
-        lenient().when(transacaoRepository.sumValorByContaIdAndTipo(any(), any())).thenReturn(BigDecimal.ZERO);
+        when(userResolver.getUsuarioAutenticado()).thenReturn(usuario);
     }
 
     @Test
@@ -147,6 +155,25 @@ class TransacaoServiceTest {
         assertThat(response.getIdCategoria()).isEqualTo(1L);
 
         verify(transacaoRepository, times(1)).save(any(Transacao.class));
+        verify(saldoContaService, times(1)).aplicar(transacao);
+        verify(resumoMensalService, times(1)).registrar(transacao);
+        verify(eventPublisher).publishEvent(new DadosFinanceirosAlteradosEvent(1L));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao criar despesa maior que o saldo da conta")
+    void deveLancarExcecaoAoCriarDespesaMaiorQueSaldo() {
+        conta.setSaldoAtual(BigDecimal.valueOf(30.00));
+
+        when(contaRepository.findById(1L)).thenReturn(Optional.of(conta));
+
+        assertThatThrownBy(() -> transacaoService.criar(transacaoRequest))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Saldo insuficiente");
+
+        verify(transacaoRepository, never()).save(any(Transacao.class));
+        verify(saldoContaService, never()).aplicar(any(Transacao.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -237,20 +264,21 @@ class TransacaoServiceTest {
     @Test
     @DisplayName("Deve listar todas as transações do usuário")
     void deveListarTodasTransacoesDoUsuario() {
-        Transacao transacao2 = Transacao.builder()
+        TransacaoResponse despesa = TransacaoResponse.builder()
+                .id(1L)
+                .tipo(TipoTransacao.DESPESA)
+                .nomeConta("Conta Corrente")
+                .nomeCategoria("Alimentação")
+                .build();
+        TransacaoResponse receita = TransacaoResponse.builder()
                 .id(2L)
                 .tipo(TipoTransacao.RECEITA)
-                .data(LocalDate.now())
-                .valor(BigDecimal.valueOf(1000.00))
-                .descricao("Salário")
-                .status(StatusTransacao.CONFIRMADA)
-                .usuario(usuario)
-                .conta(conta)
-                .categoria(categoria)
+                .nomeConta("Conta Corrente")
+                .nomeCategoria("Alimentação")
                 .build();
 
-        when(transacaoRepository.findByUsuarioId(1L))
-                .thenReturn(Arrays.asList(transacao, transacao2));
+        when(transacaoRepository.findResponses(ArgumentMatchers.<Specification<Transacao>>any(), eq(Sort.unsorted())))
+                .thenReturn(Arrays.asList(despesa, receita));
 
         List<TransacaoResponse> responses = transacaoService.listarTodas();
 
@@ -322,6 +350,28 @@ class TransacaoServiceTest {
 
         assertThat(response).isNotNull();
         verify(transacaoRepository, times(1)).save(any(Transacao.class));
+        verify(saldoContaService, times(1)).estornar(transacao);
+        verify(saldoContaService, times(1)).aplicar(transacao);
+        verify(resumoMensalService, times(1)).estornar(transacao);
+        verify(resumoMensalService, times(1)).registrar(transacao);
+        verify(orcamentoRepository, never()).marcarAlteradosNaData(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve marcar os orçamentos da categoria e data anteriores quando a transação muda de categoria")
+    void deveMarcarOrcamentosAnterioresAoMudarCategoria() {
+        Categoria lazer = Categoria.builder().id(2L).nome("Lazer").usuario(usuario).build();
+        LocalDate dataAnterior = transacao.getData();
+        transacaoRequest.setIdCategoria(2L);
+
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+        when(contaRepository.findById(1L)).thenReturn(Optional.of(conta));
+        when(categoriaRepository.findById(2L)).thenReturn(Optional.of(lazer));
+        when(transacaoRepository.save(any(Transacao.class))).thenReturn(transacao);
+
+        transacaoService.atualizar(1L, transacaoRequest);
+
+        verify(orcamentoRepository).marcarAlteradosNaData(eq(1L), eq(1L), eq(dataAnterior), any(LocalDateTime.class));
     }
 
     @Test
@@ -378,7 +428,11 @@ class TransacaoServiceTest {
 
         transacaoService.deletar(1L);
 
+        verify(saldoContaService, times(1)).estornar(transacao);
+        verify(resumoMensalService, times(1)).estornar(transacao);
+        verify(exclusaoService, times(1)).registrarTransacao(transacao);
         verify(transacaoRepository, times(1)).delete(transacao);
+        verify(eventPublisher).publishEvent(new DadosFinanceirosAlteradosEvent(1L));
     }
 
     @Test